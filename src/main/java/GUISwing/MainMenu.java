@@ -304,7 +304,7 @@ public class MainMenu implements ActionListener, MeltParentWindow {
     @Override
     public void exitFrame() {
         this.mc.getIoSerializable().usersWriteToSerializable(this.mc.getUserController().getUserManager().getAllUsers());
-        this.mc.getIoSerializable().eventsWriteToSerializable(this.mc.getEventController().getEventManager().getUuidEventsMap());
+        this.mc.getEventController().saveEvents(this.mc.getIoSerializable());
         this.frame.dispose();
     }
 
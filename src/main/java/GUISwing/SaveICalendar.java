@@ -28,7 +28,8 @@ public class SaveICalendar {
         int response = jFileChooser.showSaveDialog(null);
         if (response == JFileChooser.APPROVE_OPTION) {
             File file = jFileChooser.getSelectedFile().getAbsoluteFile();
-            ICalendar iCalendar = new ICalendar(eventController.getEventManager());
+            ICalendar iCalendar = new ICalendar(eventController.getEventManager(),
+                    eventController.getCalendarManager());
             try {
                 iCalendar.create(file.toString());
             } catch (IOException e) {
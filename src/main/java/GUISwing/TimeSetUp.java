@@ -14,6 +14,8 @@ import java.awt.event.ActionListener;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -37,6 +39,7 @@ public class TimeSetUp implements ActionListener {
     private final JComboBox<LocalTime> hourBox;
     private final JButton saveButton;
     private final JButton cancelButton;
+    private final JLabel conflictInfo = new JLabel();
     private int year;
     private int month;
     private int date;
@@ -85,6 +88,7 @@ public class TimeSetUp implements ActionListener {
         this.cancelButton = new JButton("Cancel");
         addActionListener();
         addToPanels(comboBoxPanel, optionPanel);
+        setUpConflictInfo();
         shutDownCondition(parent);
         this.frame.setVisible(true);
     }
@@ -171,6 +175,43 @@ public class TimeSetUp implements ActionListener {
         this.hourBox.addActionListener(this);
     }
 
+    /**
+     * Set up the label that shows the events the event would conflict with at the selected time
+     */
+    private void setUpConflictInfo() {
+        this.conflictInfo.setHorizontalAlignment(JLabel.CENTER);
+        this.conflictInfo.setBounds(0, 170, Constants.POPUP_WIDTH - 17, 20);
+        this.frame.add(this.conflictInfo);
+        showConflicts();
+    }
+
+    /**
+     * Show the events the event would conflict with at the selected time, before the time is saved
+     */
+    private void showConflicts() {
+        if (this.time == null || !YearMonth.of(this.year, this.month).isValidDay(this.date)) {
+            this.conflictInfo.setText("");
+            return;
+        }
+        LocalDateTime selected = getLocalDateTime();
+        LocalDateTime start = option.equalsIgnoreCase("Start") ? selected : eventInfoGetter.getStart(eventID);
+        LocalDateTime end = option.equalsIgnoreCase("End") ? selected : eventInfoGetter.getEnd(eventID);
+        if (selected == null || (start != null && start.isAfter(end))) {
+            this.conflictInfo.setText("");
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        for (UUID conflict : this.ec.probeConflicts(eventID, start, end)) {
+            names.add(eventInfoGetter.getName(conflict));
+        }
+        if (names.isEmpty()) {
+            this.conflictInfo.setText("No conflicts at this time");
+        }
+        else {
+            this.conflictInfo.setText("Conflicts with: " + String.join(", ", names));
+        }
+    }
+
     /**
      * Configure the box panel with the appropriate size and layout
      * @return configured box panel that will contain JCombobox
@@ -247,6 +288,10 @@ public class TimeSetUp implements ActionListener {
             this.time = (LocalTime) this.hourBox.getSelectedItem();
         }
 
+        if (e.getSource() == yearMonthBox || e.getSource() == dateBox || e.getSource() == hourBox) {
+            showConflicts();
+        }
+
         if (e.getSource() == saveButton) {
             save();
         }
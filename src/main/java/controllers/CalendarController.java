@@ -12,7 +12,6 @@ import presenters.MenuStrategies.CalNextActionMenuContent;
 import presenters.MenuStrategies.CalendarTypeMenuContent;
 import presenters.MenuStrategies.CalendarYearMonthMenuContent;
 import interfaces.MenuContent;
-import usecases.EventCalendarCollaborator;
 import usecases.calendar.CalendarByType;
 import usecases.calendar.CalendarManager;
 import usecases.events.EventManager;
@@ -199,15 +198,12 @@ public class CalendarController {
      * Helper method that initiates DisplayCalendarFactory with the given event information
      *
      * @param eventController the event information provided
-     * @return displayCalendarFactory with the calendarManager that contains event information from eventController
+     * @return displayCalendarFactory with the calendarManager of eventController, which is kept up to date with its
+     * events
      */
     public CalendarDisplayFactory getDisplayCalendarFactory(EventController eventController) {
-        CalendarManager calendarManager = new CalendarManager();
-        EventManager eventManager = eventController.getEventManager();
-        EventCalendarCollaborator collaborator = new EventCalendarCollaborator(eventManager, calendarManager);
-        collaborator.addAllEvents();
-        calendarManager = collaborator.getCalendarManager();
-        return new CalendarDisplayFactory(calendarManager, eventManager);
+        return new CalendarDisplayFactory(eventController.getCalendarManager(), eventController.getEventManager(),
+                eventController.getFreeTime());
     }
 
     /**
@@ -251,7 +247,7 @@ public class CalendarController {
      * @param calendar calendar that contains calendar information
      */
     private void exportIniCalFormat(EventController eventController, CalendarDisplay calendar) {
-        ICalendar iCalendar = new ICalendar(eventController.getEventManager());
+        ICalendar iCalendar = new ICalendar(eventController.getEventManager(), eventController.getCalendarManager());
         List<Integer> yearMonthDate = new ArrayList<>();
         yearMonthDate.add(calendar.getYear());
         yearMonthDate.add(calendar.getMonth());
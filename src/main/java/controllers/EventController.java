@@ -3,9 +3,15 @@ package controllers;
 import gateways.IOSerializable;
 import helpers.ControllerHelper;
 import helpers.EventIDConverter;
+import usecases.EventCalendarCollaborator;
+import usecases.calendar.CalendarManager;
 import presenters.MenuStrategies.DisplayMenu;
 import presenters.MenuStrategies.EventEditMenuContent;
+import entities.Event;
+import entities.recursions.RecursiveEvent;
+import usecases.events.ConflictProbe;
 import usecases.events.EventManager;
+import usecases.events.EventShardStore;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -27,14 +33,17 @@ import java.util.*;
  */
 public class EventController {
 
+    private final EventShardStore eventShards;
     private final EventManager eventManager;
     private final WorkSessionController workSessionController;
     private final IOController ioController;
+    private final Map<LocalTime, LocalTime> freeTime;
+    private CalendarManager calendarManager;
 
     /**
      * constructor for EventController from serialized Events
-     * creates <code>this.eventManager</code> of current User's events, sets ID counter to maximum ID in eventManager,
-     * with pre-made WorkSessionController
+     * opens the shard of the current User's events as <code>this.eventManager</code>, with pre-made
+     * WorkSessionController
      *
      * @param hasSavedData          boolean
      * @param ioSerializable        serialized
@@ -43,37 +52,33 @@ public class EventController {
     public EventController(boolean hasSavedData, IOSerializable ioSerializable, UserController userController,
                            WorkSessionController workSessionController) {
         this.workSessionController = workSessionController;
+        this.eventShards = new EventShardStore(ioSerializable);
         if (hasSavedData) {
-            this.eventManager =
-                    new EventManager(ioSerializable.eventsReadFromSerializable().getOrDefault(userController.getCurrentUser(), new ArrayList<>()),
-                            ioSerializable.recursiveEventsReadFromSerializable().getOrDefault(userController.getCurrentUser(), new HashMap<>()));
+            this.eventManager = this.eventShards.open(userController.getCurrentUser());
         } else {
-            this.eventManager = new EventManager(new ArrayList<>());
+            this.eventManager = this.eventShards.create(userController.getCurrentUser());
         }
-        this.eventManager.setUuidEventsMap(ioSerializable.eventsReadFromSerializable());
-        this.eventManager.setUuidRecursiveEventsMap(ioSerializable.recursiveEventsReadFromSerializable());
         this.ioController = new IOController();
+        this.freeTime = userController.getCurrentFreeTime();
     }
 
     /**
      * constructor for EventController from serialized Events
-     * creates <code>this.eventManager</code> of current User's events, sets ID counter to maximum ID in eventManager,
-     * creates new workSessionController
+     * opens the shard of the current User's events as <code>this.eventManager</code>, creates new
+     * workSessionController
      *
      * @param hasSavedData   boolean
      * @param ioSerializable serialized
      */
     public EventController(boolean hasSavedData, IOSerializable ioSerializable, UserController userController) {
+        this.eventShards = new EventShardStore(ioSerializable);
         if (hasSavedData) {
-            this.eventManager =
-                    new EventManager(ioSerializable.eventsReadFromSerializable().getOrDefault(userController.getCurrentUser(), new ArrayList<>()),
-                            ioSerializable.recursiveEventsReadFromSerializable().getOrDefault(userController.getCurrentUser(), new HashMap<>()));
+            this.eventManager = this.eventShards.open(userController.getCurrentUser());
         } else {
-            this.eventManager = new EventManager(new ArrayList<>());
+            this.eventManager = this.eventShards.create(userController.getCurrentUser());
         }
-        this.eventManager.setUuidEventsMap(ioSerializable.eventsReadFromSerializable());
-        this.eventManager.setUuidRecursiveEventsMap(ioSerializable.recursiveEventsReadFromSerializable());
         this.ioController = new IOController();
+        this.freeTime = userController.getCurrentFreeTime();
         this.workSessionController = new WorkSessionController(userController.getPreferences());
     }
 
@@ -398,4 +403,61 @@ public class EventController {
     public EventManager getEventManager() {
         return this.eventManager;
     }
+
+    public EventShardStore getEventShards() {
+        return this.eventShards;
+    }
+
+    /**
+     * @return the calendar of <code>this.eventManager</code>, created with all the events the first time it is used
+     * and kept up to date with every change to them after that, filling the next month in the background
+     */
+    public CalendarManager getCalendarManager() {
+        if (this.calendarManager == null) {
+            this.calendarManager = new CalendarManager();
+            EventCalendarCollaborator collaborator = new EventCalendarCollaborator(this.eventManager,
+                    this.calendarManager);
+            collaborator.enablePrefetch();
+            collaborator.addAllEvents();
+            collaborator.subscribe();
+        }
+        return this.calendarManager;
+    }
+
+    /**
+     * @return the current user's free time, which is kept up to date as they change it
+     */
+    public Map<LocalTime, LocalTime> getFreeTime() {
+        return this.freeTime;
+    }
+
+    /**
+     * finds the events that would conflict with an event if it had the proposed times, without changing it
+     *
+     * @param ID    the ID of the event being edited
+     * @param start the proposed start time, or null
+     * @param end   the proposed end time
+     * @return IDs of the conflicting events, in order of start time
+     * @see ConflictProbe
+     */
+    public List<UUID> probeConflicts(UUID ID, LocalDateTime start, LocalDateTime end) {
+        return new ArrayList<>(new ConflictProbe(this.eventManager).probe(ID, start, end));
+    }
+
+    /**
+     * writes the events of every User whose events were modified to the serialized files, leaving the saved events of
+     * other Users as they are. Does not write anything if no events were modified
+     *
+     * @param ioSerializable serialized
+     */
+    public void saveEvents(IOSerializable ioSerializable) {
+        if (this.eventShards.getDirtyShards().isEmpty()) {
+            return;
+        }
+        Map<UUID, List<Event>> events = ioSerializable.eventsReadFromSerializable();
+        Map<UUID, Map<UUID, RecursiveEvent>> recursiveEvents = ioSerializable.recursiveEventsReadFromSerializable();
+        this.eventShards.saveDirtyShards(events, recursiveEvents);
+        ioSerializable.eventsWriteToSerializable(events);
+        ioSerializable.recursiveEventsWriteToSerializable(recursiveEvents);
+    }
 }
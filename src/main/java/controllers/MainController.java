@@ -1,9 +1,7 @@
 package controllers;
 
 // Just to type cast, never uses any variables or methods in entities.User
-import entities.Event;
 import entities.User;
-import entities.recursions.RecursiveEvent;
 
 import gateways.ICalendar;
 import gateways.IOSerializable;
@@ -128,7 +126,8 @@ public class MainController {
         System.out.println("The file will be created in the same folder as the project");
         System.out.println("Please type your file name (a-Z, 0-9, -, _, . are allowed");
         String fileName = this.calendarController.getFileName();
-        ICalendar iCalendar = new ICalendar(this.eventController.getEventManager());
+        ICalendar iCalendar = new ICalendar(this.eventController.getEventManager(),
+                this.eventController.getCalendarManager());
         try {
             iCalendar.create(fileName);
         } catch (IOException e) {
@@ -163,11 +162,7 @@ public class MainController {
         IOSerializable tempIoSerializable = new IOSerializable(false, false);
         UserController tempUserController = new UserController(true, tempIoSerializable);
         if (this.eventController != null) {
-            Map<UUID, List<Event>> map = this.eventController.getEventManager().getUuidEventsMap();
-            Map<UUID, Map<UUID, RecursiveEvent>> map1 = this.eventController.getEventManager().getUuidRecursiveEventsMap();
-            map.put(this.userController.getCurrentUser(), this.eventController.getEventManager().getDefaultEventInfoGetter().getAllEvents());
-            tempIoSerializable.eventsWriteToSerializable(map);
-            tempIoSerializable.recursiveEventsWriteToSerializable(map1);
+            this.eventController.saveEvents(tempIoSerializable);
         }
         tempIoSerializable.usersWriteToSerializable(combineTwoUserFileContents(this.userController.getUserManager(),
                 tempUserController.getUserManager()));
@@ -132,7 +132,7 @@ public class RecursionController {
     public void createNewRecursion(List<UUID> eventIDList, EventManager eventManager){
         UUID uuid = addEventsToRecursiveObject(eventIDList, eventManager);
         setDateGetter(eventManager, uuid);
-        eventManager.getRepeatedEventManager().getRecursiveIdToDateToEventsMap().put(uuid,
+        eventManager.getRepeatedEventManager().putRecursionEvents(uuid,
                 eventManager.getRepeatedEventManager().eventListToMap(eventManager.
                         getRepeatedEventManager().getEventsFromRecursion(uuid), eventIDList.size()));
     }
@@ -154,7 +154,7 @@ public class RecursionController {
         input[1] = dateTime2;
         eventManager.getRepeatedEventManager().getRecursiveEventMap().get(uuid).
                 setIntervalDateDateGetter(input);
-        eventManager.getRepeatedEventManager().getRecursiveIdToDateToEventsMap().put(uuid,
+        eventManager.getRepeatedEventManager().putRecursionEvents(uuid,
                 eventManager.getRepeatedEventManager().eventListToMap(eventManager.
                         getRepeatedEventManager().getEventsFromRecursion(uuid), eventIDList.size()));
     }
@@ -172,7 +172,7 @@ public class RecursionController {
         UUID uuid = addEventsToRecursiveObject(eventIDList, eventManager, secondFirstEventDateTime);
         eventManager.getRepeatedEventManager().getRecursiveEventMap().get(uuid).
                 setNumberOfRepetitionDateGetter(numRepetition);
-        eventManager.getRepeatedEventManager().getRecursiveIdToDateToEventsMap().put(uuid,
+        eventManager.getRepeatedEventManager().putRecursionEvents(uuid,
                 eventManager.getRepeatedEventManager().eventListToMap(eventManager.
                         getRepeatedEventManager().getEventsFromRecursion(uuid), eventIDList.size()));
     }
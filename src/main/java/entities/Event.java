@@ -4,9 +4,9 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.Duration;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -18,6 +18,7 @@ import java.util.UUID;
  * @version %I%, %G%
  */
 public class Event implements Serializable {
+    private static final long serialVersionUID = 6503928205098279386L;
     private LocalDateTime startTime = null;
     private LocalDateTime endTime;
     private final UUID ID;
@@ -29,6 +30,10 @@ public class Event implements Serializable {
     private Long sessionLength;
     private Long startWorking;
     private UUID recursiveId;
+    private transient long startMinute;
+    private transient long endMinute;
+    private transient boolean minutesCached;
+    private transient long version;
 
     /**
      * constructor sets the ID, name and end time of the entities.Event, default sessionLength to 1L
@@ -99,6 +104,7 @@ public class Event implements Serializable {
      */
     public void setDescription(String description) {
         this.description = description;
+        this.version++;
     }
 
     /**
@@ -106,10 +112,15 @@ public class Event implements Serializable {
      */
     public void setRecursiveId(UUID recursiveId) {
         this.recursiveId = recursiveId;
+        this.version++;
+    }
+    public void setCategories(UUID categories) {
+        Categories = categories;
+        this.version++;
     }
-    public void setCategories(UUID categories) {Categories = categories;}
     public void setStartWorking(Long startWorking){
         this.startWorking = startWorking;
+        this.version++;
     }
 
     /**
@@ -136,6 +147,7 @@ public class Event implements Serializable {
      */
     public void setName(String name) {
         this.name = name;
+        this.version++;
     }
 
     /**
@@ -149,44 +161,80 @@ public class Event implements Serializable {
     }
 
     /**
-     * Hashcode generation using all variables.
+     * Hashcode of the identity of the Event - its ID. Does not change when the Event is modified
      *
      * @return a Hashcode for this object
      */
     @Override
     public int hashCode() {
-        return Objects.hash(startTime, endTime, ID, name, description, Categories, workSessions, hoursNeeded,
-                sessionLength, startWorking, recursiveId);
+        return this.ID.hashCode();
     }
 
     /**
-     * Two Events are considered equal if all attributes have the same value
+     * Two Events are considered equal if they have the same ID (are the same Event, possibly at different versions).
+     * Use <code>contentEquals</code> to compare their information. The pieces of an Event split by day keep its ID,
+     * so they are equal to each other and to the Event - a Set or Map key keeps only one of them
      *
      * @param object the object event is being compared to
      * @return whether it is equal to this object
      */
     @Override
     public boolean equals(Object object) {
-        if (object == null) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || object.getClass() != this.getClass()) {
             return false;
         }
-        if (object.getClass() != this.getClass()) {
+        return this.ID.equals(((Event) object).getID());
+    }
+
+    /**
+     * Two Events have equal content if they have the same ID, start and end time, name, hours needed, session length,
+     * and work sessions with equal content
+     *
+     * @param other the Event this is being compared to
+     * @return whether the content of other is equal to this
+     */
+    public boolean contentEquals(Event other) {
+        if (other == null) {
             return false;
         }
-        Event obj = (Event) object;
-        if (this.hasStart() && obj.hasStart()) {
-            return this.startTime.isEqual(obj.getStartTime()) && this.endTime.isEqual(obj.getEndTime()) &&
-                    this.name.equals(obj.getName()) && this.workSessions.equals(obj.getWorkSessions())
-                    && this.ID == obj.getID() && this.hoursNeeded.equals(obj.getHoursNeeded()) &&
-                    this.sessionLength.equals(obj.getSessionLength());
-        } else if ((!this.hasStart() && obj.hasStart()) || (this.hasStart() && !obj.hasStart())) {
+        if (this.hasStart() != other.hasStart() || (this.hasStart() && !this.startTime.isEqual(other.getStartTime()))) {
+            return false;
+        }
+        return this.endTime.isEqual(other.getEndTime()) && this.name.equals(other.getName()) &&
+                this.ID.equals(other.getID()) && this.hoursNeeded.equals(other.getHoursNeeded()) &&
+                this.sessionLength.equals(other.getSessionLength()) &&
+                contentEquals(this.workSessions, other.getWorkSessions());
+    }
+
+    /**
+     * @param events      a list of Events
+     * @param otherEvents another list of Events
+     * @return whether both lists have the same size, and the Events at each index have equal content
+     */
+    public static boolean contentEquals(List<Event> events, List<Event> otherEvents) {
+        if (events.size() != otherEvents.size()) {
             return false;
-        } else {
-            return this.endTime.isEqual(obj.getEndTime()) && this.name.equals(obj.getName()) &&
-                    this.workSessions.equals(obj.getWorkSessions()) && this.ID == obj.getID() &&
-                    this.hoursNeeded.equals(obj.getHoursNeeded()) &&
-                    this.sessionLength.equals(obj.getSessionLength());
         }
+        for (int i = 0; i < events.size(); i++) {
+            if (!events.get(i).contentEquals(otherEvents.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * the version of this Event, incremented each time a setter modifies it, so a copy of information read from an
+     * Event at one version is stale once the version changes. Starts at 0 when the Event is created or deserialized.
+     * Modifying the list returned by <code>getWorkSessions</code> directly does not change the version
+     *
+     * @return long version of the Event
+     */
+    public long getVersion() {
+        return this.version;
     }
 
     /**
@@ -242,6 +290,8 @@ public class Event implements Serializable {
         } else {
             this.startTime = startTime;
         }
+        this.minutesCached = false;
+        this.version++;
     }
 
     /**
@@ -256,6 +306,54 @@ public class Event implements Serializable {
         } else {
             this.endTime = endTime;
         }
+        this.minutesCached = false;
+        this.version++;
+    }
+
+    /**
+     * the start time of the Event in minutes since the epoch (UTC, no time zone), or the end time if the Event has no
+     * start time. Cached until the start or end time is changed
+     *
+     * @return long start minute
+     */
+    public long getStartMinute() {
+        this.cacheMinutes();
+        return this.startMinute;
+    }
+
+    /**
+     * the end time of the Event in minutes since the epoch (UTC, no time zone). Cached until the start or end time is
+     * changed
+     *
+     * @return long end minute
+     */
+    public long getEndMinute() {
+        this.cacheMinutes();
+        return this.endMinute;
+    }
+
+    /**
+     * @param time any LocalDateTime
+     * @return the number of whole minutes between the epoch and time (as if time were UTC)
+     */
+    public static long toEpochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * @param epochMinute a number of whole minutes since the epoch, as returned by <code>toEpochMinute</code>
+     * @return the LocalDateTime that many minutes after the epoch (as if it were UTC)
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private void cacheMinutes() {
+        if (!this.minutesCached) {
+            this.endMinute = toEpochMinute(this.endTime);
+            this.startMinute = this.hasStart() ? toEpochMinute(this.startTime) : this.endMinute;
+            this.minutesCached = true;
+        }
     }
 
     /**
@@ -292,11 +390,12 @@ public class Event implements Serializable {
      * @return true if their times overlap, false if they don't
      */
     public boolean conflicts(Event other) {
-        if (other.hasStart() && this.hasStart())
-            return (this.startTime.isBefore(other.getStartTime()) && this.endTime.isAfter(other.getStartTime())) ||
-                    (this.startTime.isEqual(other.getStartTime())) ||
-                    (this.startTime.isAfter(other.getStartTime()) && this.startTime.isBefore(other.getEndTime()));
-        else {
+        if (other.hasStart() && this.hasStart()) {
+            long start = this.getStartMinute();
+            long otherStart = other.getStartMinute();
+            return (start < otherStart && this.getEndMinute() > otherStart) || start == otherStart ||
+                    (start > otherStart && start < other.getEndMinute());
+        } else {
             return false;
         }
     }
@@ -335,6 +434,7 @@ public class Event implements Serializable {
      */
     public void setHoursNeeded(Long hoursNeeded) {
         this.hoursNeeded = hoursNeeded;
+        this.version++;
     }
 
     /**
@@ -345,6 +445,7 @@ public class Event implements Serializable {
      */
     public void setSessionLength(Long sessionLength) {
         this.sessionLength = sessionLength;
+        this.version++;
     }
 
     /**
@@ -370,6 +471,7 @@ public class Event implements Serializable {
      */
     public void setWorkSessions(List<Event> workSessions) {
         this.workSessions = workSessions;
+        this.version++;
     }
 
     /**
@@ -381,6 +483,7 @@ public class Event implements Serializable {
      */
     public void addWorkSession(LocalDateTime start, LocalDateTime end) {
         this.workSessions.add(new Event(UUID.randomUUID(), this.getName() + " session", start, end));
+        this.version++;
     }
 
     /**
@@ -5,6 +5,10 @@ import java.time.YearMonth;
 
 /**
  * Basic class that deals with calendar behaviour
+ * <p>
+ * The event IDs of each date are kept in arrays indexed by the date, sorted by the start time they were added with, so
+ * the events of a date can be shown in order without sorting them again. <code>getCalendarMap</code> is a read-only
+ * view of those arrays.
  * @author Seo Won Yi
  */
 public class OurCalendar {
@@ -12,7 +16,11 @@ public class OurCalendar {
     private final List<Integer> dateInfo; //in the form of [year, month, # of days in the month]
     private boolean conflict;  // if the calendar has any conflicted information
     private List<UUID> conflictEvent; // All the UUID of the events that are conflicting
-    private final Map<Integer, List<UUID>> calendarMap; // map of calendar
+    private final Map<Integer, List<UUID>> calendarMap; // map of calendar, viewing the arrays below
+    private final long[][] idBits; // for each date, the two halves of each event ID
+    private final long[][] startKeys; // for each date, the start time (in epoch minutes) the IDs are sorted by
+    private final int[] sizes; // for each date, the number of event IDs
+    private final Map<Integer, List<List<UUID>>> conflictClusters = new HashMap<>(); // for each date, if known
 
     /**
      * Initialize the OurCalendar class for the given month.
@@ -37,13 +45,12 @@ public class OurCalendar {
         this.conflict = false;
         // empty list of conflicted object to start with
         this.conflictEvent = new ArrayList<>();
-        // create an empty calendar map with keys of days and values of list of events (empty to start with) for the
-        // provided year and month
-        Map<Integer, List<UUID>> tempMap = new HashMap<>();
-        for (int i = 1; i <= daysInMonth; i++) {
-            tempMap.put(i, new ArrayList<>());
-        }
-        this.calendarMap = tempMap;
+        // create empty buckets for each day of the provided year and month, viewed as a map of days to lists of
+        // events
+        this.idBits = new long[daysInMonth][0];
+        this.startKeys = new long[daysInMonth][0];
+        this.sizes = new int[daysInMonth];
+        this.calendarMap = new CalendarMapView();
     }
 
     // if no argument, create the current month calendar
@@ -53,20 +60,87 @@ public class OurCalendar {
         this.dateInfo = tempCalendar.dateInfo;
         this.conflict = tempCalendar.conflict;
         this.conflictEvent = tempCalendar.conflictEvent;
-        this.calendarMap = tempCalendar.calendarMap;
+        this.idBits = new long[this.dateInfo.get(2)][0];
+        this.startKeys = new long[this.dateInfo.get(2)][0];
+        this.sizes = new int[this.dateInfo.get(2)];
+        this.calendarMap = new CalendarMapView();
     }
 
     /**
-     * Add the event ID to a calendar for the given date
+     * Add the event ID to a calendar for the given date, after all the events added with a start time
      * @param eventID the event ID that wants to be added
+     * @param date the date of the event
      */
     public void addEventID(UUID eventID, int date){
-        for (int key: this.calendarMap.keySet()) {
-            if (key == date) {
-                this.calendarMap.get(key).add(eventID);
-                return;
+        this.addEventID(eventID, date, Long.MAX_VALUE);
+    }
+
+    /**
+     * Add the event ID to a calendar for the given date, keeping the IDs of the date sorted by their start time. IDs
+     * with the same start time stay in the order they were added
+     * @param eventID the event ID that wants to be added
+     * @param date the date of the event
+     * @param startMinute start time of the event in epoch minutes (the end time for deadlines)
+     */
+    public void addEventID(UUID eventID, int date, long startMinute){
+        if (date < 1 || date > this.sizes.length) {
+            return;
+        }
+        int day = date - 1;
+        int size = this.sizes[day];
+        if (size == this.startKeys[day].length) {
+            this.startKeys[day] = Arrays.copyOf(this.startKeys[day], Math.max(4, size * 2));
+            this.idBits[day] = Arrays.copyOf(this.idBits[day], Math.max(4, size * 2) * 2);
+        }
+        long[] keys = this.startKeys[day];
+        long[] bits = this.idBits[day];
+        // first index with a later start time
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] > startMinute) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        System.arraycopy(keys, low, keys, low + 1, size - low);
+        System.arraycopy(bits, low * 2, bits, low * 2 + 2, (size - low) * 2);
+        keys[low] = startMinute;
+        bits[low * 2] = eventID.getMostSignificantBits();
+        bits[low * 2 + 1] = eventID.getLeastSignificantBits();
+        this.sizes[day] = size + 1;
+        this.conflictClusters.remove(date);
+    }
+
+    /**
+     * Remove every occurrence of the event ID from the given date of the calendar
+     * @param eventID the event ID that wants to be removed
+     * @param date the date of the event
+     * @return whether the event ID was on the date
+     */
+    public boolean removeEventID(UUID eventID, int date){
+        if (date < 1 || date > this.sizes.length) {
+            return false;
+        }
+        int day = date - 1;
+        long[] keys = this.startKeys[day];
+        long[] bits = this.idBits[day];
+        int kept = 0;
+        for (int i = 0; i < this.sizes[day]; i++) {
+            if (bits[i * 2] != eventID.getMostSignificantBits() ||
+                    bits[i * 2 + 1] != eventID.getLeastSignificantBits()) {
+                keys[kept] = keys[i];
+                bits[kept * 2] = bits[i * 2];
+                bits[kept * 2 + 1] = bits[i * 2 + 1];
+                kept++;
             }
         }
+        boolean removed = kept < this.sizes[day];
+        this.sizes[day] = kept;
+        this.conflictClusters.remove(date);
+        return removed;
     }
 
     /**
@@ -78,7 +152,7 @@ public class OurCalendar {
     }
 
     /**
-     * get calendarMap
+     * get calendarMap, a read-only view of the event IDs of each date sorted by start time
      * @return calendarMap
      */
     public Map<Integer, List<UUID>> getCalendarMap(){
@@ -101,5 +175,88 @@ public class OurCalendar {
         this.conflictEvent = conflictEvent;
     }
 
-}
+    /**
+     * Keep the groups of conflicting events of the given date, until an event ID is added to or removed from it
+     * @param date the date of the events
+     * @param clusters the groups of conflicted event IDs of the date, each ordered by start time
+     */
+    public void setConflictClusters(int date, List<List<UUID>> clusters) {
+        this.conflictClusters.put(date, clusters);
+    }
+
+    /**
+     * get the groups of conflicting events of the given date, if they were set since the events of the date changed
+     * @param date the date of the events
+     * @return the groups of conflicted event IDs of the date, or null if they are not known
+     */
+    public List<List<UUID>> getConflictClusters(int date) {
+        return this.conflictClusters.get(date);
+    }
+
+    /**
+     * Read-only map of each date to the list of its event IDs, read from the arrays of the calendar
+     */
+    private class CalendarMapView extends AbstractMap<Integer, List<UUID>> {
+
+        @Override
+        public List<UUID> get(Object key) {
+            if (!this.containsKey(key)) {
+                return null;
+            }
+            int day = (Integer) key - 1;
+            return new AbstractList<>() {
+                @Override
+                public UUID get(int index) {
+                    Objects.checkIndex(index, sizes[day]);
+                    return new UUID(idBits[day][index * 2], idBits[day][index * 2 + 1]);
+                }
+
+                @Override
+                public int size() {
+                    return sizes[day];
+                }
+            };
+        }
 
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer && (Integer) key >= 1 && (Integer) key <= sizes.length;
+        }
+
+        @Override
+        public int size() {
+            return sizes.length;
+        }
+
+        @Override
+        public Set<Entry<Integer, List<UUID>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Integer, List<UUID>>> iterator() {
+                    return new Iterator<>() {
+                        private int date = 1;
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.date <= sizes.length;
+                        }
+
+                        @Override
+                        public Entry<Integer, List<UUID>> next() {
+                            if (!this.hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int key = this.date++;
+                            return new SimpleImmutableEntry<>(key, CalendarMapView.this.get(key));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return sizes.length;
+                }
+            };
+        }
+    }
+}
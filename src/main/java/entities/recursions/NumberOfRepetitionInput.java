@@ -16,6 +16,7 @@ import java.util.UUID;
  */
 
 public class NumberOfRepetitionInput implements DateGetter, Serializable {
+    private static final long serialVersionUID = -7612923871783083221L;
 
     private final int numberOfRepetitions;
 
@@ -28,6 +29,13 @@ public class NumberOfRepetitionInput implements DateGetter, Serializable {
         this.numberOfRepetitions = numberOfRepetitions;
     }
 
+    /**
+     * @return the number of times the cycle is repeated
+     */
+    public int getNumberOfRepetitions() {
+        return this.numberOfRepetitions;
+    }
+
     /**
      * returns repetitions of event in events by adding the period between the first and last event in the list to
      * each event in the list a numberOfRepetitions of times
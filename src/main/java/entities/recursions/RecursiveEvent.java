@@ -12,6 +12,7 @@ import java.util.*;
  */
 
 public class RecursiveEvent implements Serializable {
+    private static final long serialVersionUID = 2916058651495333688L;
 
     private final UUID id;
     private List<Event> eventsInOneCycle;
@@ -66,6 +67,7 @@ public class RecursiveEvent implements Serializable {
 
     public UUID getId() {return id;}
     public List<Event> getEventsInOneCycle() {return eventsInOneCycle;}
+    public DateGetter getMethodToGetDate() {return methodToGetDate;}
     public int getCycleLength(){
         return eventsInOneCycle.size() -1;
     }
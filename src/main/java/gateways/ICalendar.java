@@ -38,6 +38,16 @@ public class ICalendar {
         collaborator.addAllEvents();
     }
 
+    /**
+     * Initialize ICalendar with the given EventManager and a CalendarManager already kept up to date with its events
+     * @param eventManager object where all the information of events are stored
+     * @param calendarManager calendar of the events of eventManager
+     */
+    public ICalendar(EventManager eventManager, CalendarManager calendarManager) {
+        this.eventManager = eventManager;
+        this.calendarManager = calendarManager;
+    }
+
     /**
      * Depending on different choices, create appropriate ics file
      * @param name name of the file
@@ -18,6 +18,7 @@ import entities.Event;
 import entities.User;
 import entities.recursions.NumberOfRepetitionInput;
 import entities.recursions.RecursiveEvent;
+import interfaces.EventShardSource;
 
 /**
  * This class will allow (de)serialization of files.
@@ -27,7 +28,7 @@ import entities.recursions.RecursiveEvent;
  *
  * @author Sebin Im
  */
-public class IOSerializable {
+public class IOSerializable implements EventShardSource {
     // Logging
     private static final Logger logger = Logger.getLogger(IOSerializable.class.getPackage().getName());
 
@@ -47,6 +48,10 @@ public class IOSerializable {
 
     private static final String recursiveEventsURL = "https://www.dropbox.com/s/zcpnpjh4ve6k1mt/recursive_events.ser?dl=1";
 
+    // The events and recursive events of all users as last read or written, so each file is deserialized once
+    private Map<UUID, List<Event>> events;
+    private Map<UUID, Map<UUID, RecursiveEvent>> recursiveEvents;
+
     /**
      * Initialize an instance of IOSerializable.
      *
@@ -95,6 +100,8 @@ public class IOSerializable {
 
             recursiveEventsReadableByteChannel.close();
 
+            this.events = null;
+            this.recursiveEvents = null;
         } catch (IOException eIO) {
             eIO.printStackTrace();
         }
@@ -189,10 +196,18 @@ public class IOSerializable {
     /**
      * Read the file contents from the serialized files obtained from the dropbox repository.
      * Then type cast them into an ArrayList of Events.
+     * The file is only deserialized the first time; later calls return a copy of what was read or last written.
      *
      * @return an ArrayList of all Events stored in the file
      */
     public Map<UUID, List<Event>> eventsReadFromSerializable() {
+        if (this.events == null) {
+            this.events = this.deserializeEvents();
+        }
+        return new HashMap<>(this.events);
+    }
+
+    private Map<UUID, List<Event>> deserializeEvents() {
         try {
             InputStream file = new FileInputStream(EVENTS_FILEPATH);
             InputStream buffer = new BufferedInputStream(file);
@@ -223,21 +238,96 @@ public class IOSerializable {
             ObjectOutput output = new ObjectOutputStream(buffer);
             output.writeObject(events);
             output.close();
+            this.events = new HashMap<>(events);
         } catch (IOException eIO) {
             logger.log(Level.SEVERE, "Cannot perform serialization", eIO);
         }
     }
 
 
+    /**
+     * Read the events of only one user from the serialized file, which is only deserialized once for all users.
+     *
+     * @param userID uuid of the user
+     * @return an ArrayList of the events of the user, empty if they have none
+     */
+    @Override
+    public List<Event> readEvents(UUID userID) {
+        if (this.events == null) {
+            this.events = this.deserializeEvents();
+        }
+        return new ArrayList<>(this.events.getOrDefault(userID, new ArrayList<>()));
+    }
+
+    /**
+     * Read the recursive events of only one user from the serialized file, which is only deserialized once for all
+     * users.
+     *
+     * @param userID uuid of the user
+     * @return a map with recursive events uuid as keys and recursive events as values, empty if they have none
+     */
+    @Override
+    public Map<UUID, RecursiveEvent> readRecursiveEvents(UUID userID) {
+        if (this.recursiveEvents == null) {
+            this.recursiveEvents = this.deserializeRecursiveEvents();
+        }
+        return new HashMap<>(this.recursiveEvents.getOrDefault(userID, new HashMap<>()));
+    }
+
+    /**
+     * Read the events of several users from the serialized file, deserializing it at most once.
+     *
+     * @param userIDs uuids of the users
+     * @return a map with user uuid as keys and ArrayLists of their events as values, empty if they have none
+     */
+    @Override
+    public Map<UUID, List<Event>> readEvents(Collection<UUID> userIDs) {
+        if (this.events == null) {
+            this.events = this.deserializeEvents();
+        }
+        Map<UUID, List<Event>> usersEvents = new HashMap<>();
+        for (UUID userID : userIDs) {
+            usersEvents.put(userID, new ArrayList<>(this.events.getOrDefault(userID, new ArrayList<>())));
+        }
+        return usersEvents;
+    }
+
+    /**
+     * Read the recursive events of several users from the serialized file, deserializing it at most once.
+     *
+     * @param userIDs uuids of the users
+     * @return a map with user uuid as keys and maps of their recursive events by uuid as values, empty if they have
+     * none
+     */
+    @Override
+    public Map<UUID, Map<UUID, RecursiveEvent>> readRecursiveEvents(Collection<UUID> userIDs) {
+        if (this.recursiveEvents == null) {
+            this.recursiveEvents = this.deserializeRecursiveEvents();
+        }
+        Map<UUID, Map<UUID, RecursiveEvent>> usersRecursiveEvents = new HashMap<>();
+        for (UUID userID : userIDs) {
+            usersRecursiveEvents.put(userID, new HashMap<>(this.recursiveEvents.getOrDefault(userID, new HashMap<>())));
+        }
+        return usersRecursiveEvents;
+    }
+
     /**
      * Read the file contents from the serialized files obtained from the dropbox repository.
      * Then type cast them into a Map with keys user uuid and values maps with recursive events uuid as keys and
      * recursive events as values.
+     * The file is only deserialized the first time; later calls return a copy of what was read or last written.
      *
      * @return a map with keys user uuid and values maps with recursive events uuid as keys and
      * recursive events as values.
      */
     public Map<UUID, Map<UUID, RecursiveEvent>> recursiveEventsReadFromSerializable() {
+        if (this.recursiveEvents == null) {
+            this.recursiveEvents = this.deserializeRecursiveEvents();
+        }
+        return new HashMap<>(this.recursiveEvents);
+    }
+
+    private Map<UUID, Map<UUID, RecursiveEvent>> deserializeRecursiveEvents() {
         try {
             InputStream file = new FileInputStream(RECURSIVE_EVENTS_FILEPATH);
             InputStream buffer = new BufferedInputStream(file);
@@ -270,6 +360,7 @@ public class IOSerializable {
             ObjectOutput output = new ObjectOutputStream(buffer);
             output.writeObject(userIdToEvents);
             output.close();
+            this.recursiveEvents = new HashMap<>(userIdToEvents);
         } catch (IOException eIO) {
             logger.log(Level.SEVERE, "Cannot perform serialization", eIO);
         }
@@ -345,6 +436,9 @@ public class IOSerializable {
         Boolean b = usersSer.delete();
 
         Boolean c = recursiveEventsSer.delete();
+
+        this.events = null;
+        this.recursiveEvents = null;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sweep-line search for conflicting time periods. The periods are sorted by start once and swept in order, keeping
+ * the latest end seen in the current group of conflicts, so finding every conflict takes O(n log n) rather than
+ * comparing every pair.
+ * <p>
+ * Two periods conflict exactly when <code>IsOverlapped.overlaps</code> is true for them. A cluster is a group of
+ * periods connected by conflicts: every period in a cluster conflicts with at least one other period in it, and with
+ * no period outside of it.
+ *
+ * @see IsOverlapped#overlaps(long, long, long, long)
+ */
+public class ConflictSweep {
+
+    /**
+     * finds the clusters of conflicting periods
+     *
+     * == Representation Invariant ==
+     * starts[i] <= ends[i]
+     * @param starts start of each period (e.g. in epoch minutes)
+     * @param ends end of each period
+     * @return the clusters of two or more conflicting periods, each as the indexes of its periods ordered by start,
+     * ordered by the start of their first period
+     */
+    public static List<int[]> clusters(long[] starts, long[] ends) {
+        List<int[]> clusters = new ArrayList<>();
+        int size = starts.length;
+        if (size < 2) {
+            return clusters;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> starts[i]).thenComparingLong(i -> ends[i]));
+
+        int[] cluster = new int[size];
+        int clusterSize = 0;
+        long maxEnd = Long.MIN_VALUE;
+        for (int i : order) {
+            int last = clusterSize == 0 ? -1 : cluster[clusterSize - 1];
+            boolean conflicts = last != -1 && joinsCluster(starts[i], ends[i], maxEnd, starts[last], ends[last]);
+            if (!conflicts) {
+                if (clusterSize > 1) {
+                    clusters.add(Arrays.copyOf(cluster, clusterSize));
+                }
+                clusterSize = 0;
+                maxEnd = Long.MIN_VALUE;
+            }
+            cluster[clusterSize++] = i;
+            maxEnd = Math.max(maxEnd, ends[i]);
+        }
+        if (clusterSize > 1) {
+            clusters.add(Arrays.copyOf(cluster, clusterSize));
+        }
+        return clusters;
+    }
+
+    /**
+     * the step of the sweep that decides where clusters end: whether the next period, in order of start and then end,
+     * conflicts with the current (non-empty) cluster
+     *
+     * @param start     start of the next period
+     * @param end       end of the next period
+     * @param maxEnd    latest end of the periods in the cluster
+     * @param lastStart start of the last period added to the cluster
+     * @param lastEnd   end of the last period added to the cluster
+     * @return whether the period belongs to the cluster, rather than starting the next one
+     */
+    public static boolean joinsCluster(long start, long end, long maxEnd, long lastStart, long lastEnd) {
+        // a period that starts before the latest end so far is inside (or crosses) the period with that end, and
+        // a period identical to the last one conflicts with it
+        return start < maxEnd || (start == lastStart && end == lastEnd);
+    }
+}
@@ -19,6 +19,8 @@ public class Constants {
     public static final int TIMELINE_SPACER = -8; // Space occupied by timeline (" xx:xx |")
     public static final int MAXIMUM_SESSION_LENGTH = 10;
     public static final int MAXIMUM_WORK_SESSION_HOUR = 50;
+    public static final int SUGGESTIONS_PER_CONFLICT = 3;
+    public static final int SUGGESTION_BUDGET_MILLIS = 50; // Time to search for suggestions in each conflict display
     public static final LocalTime RETURN_NOTIFIER = LocalTime.of(4, 4, 4); // For termination purpose
 
     public static final int WINDOW_WIDTH = 1444;
@@ -4,7 +4,6 @@ import presenters.CalendarFactory.CalendarDisplay;
 import presenters.CalendarFactory.DailyCalendarDisplay;
 import presenters.CalendarFactory.MonthlyCalendarDisplay;
 import presenters.CalendarFactory.WeeklyCalendarDisplay;
-import usecases.events.EventManager;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -106,18 +105,6 @@ public class DisplayCalendarHelper {
         return result.toString();
     }
 
-    /**
-     * Sort the events associated in the calendarMap
-     * @param calendarMap calendarMap object that has events inside
-     */
-    public void eventSorter(Map<Integer, List<UUID>> calendarMap, EventManager em){
-        List<Integer> keyList = new ArrayList<>(calendarMap.keySet());
-        for (Integer key:keyList){
-            List<UUID> sortedEventList = em.timeOrderID(calendarMap.get(key));
-            calendarMap.put(key, sortedEventList);
-        }
-    }
-
     /**
      * Add all the items from addLst to toBeUpdated. Avoid adding duplicates.
      * Sort the items (the elements of the list are all numerical strings) and return the sorted result
@@ -5,24 +5,23 @@ import entities.Event;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 public class EventHelper implements Serializable {
+    private static final long serialVersionUID = -8066962662949621393L;
+
     /**
-     * orders a list of events chronologically earliest to latest
+     * orders a list of events chronologically earliest to latest by start time (end time for events without a start
+     * time). Events with the same start time keep their order from the input list
      *
-     * @param events the list to be modified
-     * @return the input list, time ordered
+     * @param events the list to be ordered (not modified)
+     * @return a new list of the events, time ordered
      */
     public List<Event> timeOrder(List<Event> events) {
-        List<Event> sorted = new ArrayList<>();
-        events = new ArrayList<>(events);
-        while (!(events.isEmpty())) {
-            sorted.add(earliest(events));
-            events.remove(earliest(events));
-        }
-        events = sorted;
-        return events;
+        List<Event> sorted = new ArrayList<>(events);
+        sorted.sort(Comparator.comparing(this::startTimeGetter));
+        return sorted;
     }
 
     /**
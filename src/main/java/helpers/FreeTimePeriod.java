@@ -0,0 +1,30 @@
+package helpers;
+
+import java.time.LocalTime;
+
+/**
+ * Reads a period of the free time of UserPreferences (a start and end time of day) as minutes of the day. A period
+ * ending at 23:59 is taken to end at midnight, and a period ending before it starts runs over midnight into the next
+ * day
+ * @see entities.UserPreferences
+ */
+public class FreeTimePeriod {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * @param start start time of the period
+     * @param end end time of the period
+     * @return the start and end of the period in minutes from the start of the day it starts on. The end is past
+     * MINUTES_PER_DAY if the period runs over midnight
+     */
+    public static int[] minutesOfDay(LocalTime start, LocalTime end) {
+        int startMinute = start.toSecondOfDay() / 60;
+        int endMinute = end.toSecondOfDay() / 60;
+        if (end.equals(LocalTime.of(23, 59))) {
+            endMinute = MINUTES_PER_DAY;
+        } else if (endMinute < startMinute) {
+            endMinute += MINUTES_PER_DAY;
+        }
+        return new int[]{startMinute, endMinute};
+    }
+}
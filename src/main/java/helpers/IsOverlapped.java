@@ -1,5 +1,7 @@
 package helpers;
 
+import entities.Event;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -22,22 +24,26 @@ public class IsOverlapped {
      */
 
     public IsOverlapped(List<LocalDateTime> ex1, List<LocalDateTime> ex2){
-        this.check = false;
-        if ((ex1.get(0).isBefore(ex2.get(0))) && (ex2.get(0).isBefore(ex1.get(1)))) {
-            this.check = true;
-        }
-        else if (ex1.get(0).isBefore(ex2.get(1)) && ex2.get(1).isBefore(ex1.get(1))) {
-            this.check = true;
-        }
-        else if (ex2.get(0).isBefore(ex1.get(0)) && ex1.get(0).isBefore(ex2.get(1))) {
-            this.check = true;
-        }
-        else if (ex2.get(0).isBefore(ex1.get(1)) && ex1.get(1).isBefore(ex2.get(1))) {
-            this.check = true;
-        }
-        else if (ex2.get(0).isEqual(ex1.get(0)) && ex2.get(1).isEqual(ex1.get(1))) {
-            this.check = true;
-        }
+        this.check = overlaps(Event.toEpochMinute(ex1.get(0)), Event.toEpochMinute(ex1.get(1)),
+                Event.toEpochMinute(ex2.get(0)), Event.toEpochMinute(ex2.get(1)));
+    }
+
+    /**
+     * returns true if either end of one time period is strictly between the ends of the other, or if both periods
+     * have the same start and end. Time periods that only touch do not overlap
+     *
+     * == Representation Invariant ==
+     * start1 <= end1, start2 <= end2
+     * @param start1 start of the first time period (e.g. in epoch minutes)
+     * @param end1 end of the first time period
+     * @param start2 start of the second time period
+     * @param end2 end of the second time period
+     * @return whether the two time periods overlap
+     */
+    public static boolean overlaps(long start1, long end1, long start2, long end2) {
+        return (start1 < start2 && start2 < end1) || (start1 < end2 && end2 < end1) ||
+                (start2 < start1 && start1 < end2) || (start2 < end1 && end1 < end2) ||
+                (start1 == start2 && end1 == end2);
     }
 
     public boolean getResult(){
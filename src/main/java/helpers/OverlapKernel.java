@@ -0,0 +1,108 @@
+package helpers;
+
+/**
+ * Checks one candidate time period against many busy time periods at once, by binary search over primitive arrays
+ * rather than comparing every pair. Nothing is allocated, so the checks can be run in tight loops (e.g. for every
+ * candidate slot of a scheduler).
+ * <p>
+ * A candidate overlaps a busy period exactly when <code>IsOverlapped.overlaps</code> is true for them. The busy
+ * periods that overlap a candidate are always consecutive in the arrays, so all of them are given by
+ * <code>firstOverlap</code> and <code>overlapCount</code>.
+ *
+ * == Representation Invariant ==
+ * starts[i] <= ends[i]
+ * starts and ends are both sorted in non-decreasing order (e.g. busy periods that do not contain one another)
+ *
+ * @see IsOverlapped#overlaps(long, long, long, long)
+ */
+public class OverlapKernel {
+
+    /**
+     * @param start  start of the candidate period (e.g. in epoch minutes), at most end
+     * @param end    end of the candidate period
+     * @param starts start of each busy period
+     * @param ends   end of each busy period
+     * @return whether the candidate overlaps any busy period
+     */
+    public static boolean anyOverlap(long start, long end, long[] starts, long[] ends) {
+        return firstOverlap(start, end, starts, ends) >= 0;
+    }
+
+    /**
+     * @param start  start of the candidate period (e.g. in epoch minutes), at most end
+     * @param end    end of the candidate period
+     * @param starts start of each busy period
+     * @param ends   end of each busy period
+     * @return index of the first busy period the candidate overlaps, or -1 if there is none
+     */
+    public static int firstOverlap(long start, long end, long[] starts, long[] ends) {
+        int first = firstAfter(ends, start);
+        int last = firstFrom(starts, end);
+        if (first < last) {
+            return first;
+        }
+        return identical(start, end, starts, ends, last) ? last : -1;
+    }
+
+    /**
+     * @param start  start of the candidate period (e.g. in epoch minutes), at most end
+     * @param end    end of the candidate period
+     * @param starts start of each busy period
+     * @param ends   end of each busy period
+     * @return number of busy periods the candidate overlaps - they are the ones from index firstOverlap on
+     */
+    public static int overlapCount(long start, long end, long[] starts, long[] ends) {
+        int first = firstAfter(ends, start);
+        int last = firstFrom(starts, end);
+        int count = Math.max(0, last - first);
+        if (start == end) {
+            // a candidate with no length also overlaps the busy periods identical to it, right after those around it
+            while (identical(start, end, starts, ends, last++)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * periods with the same start are ordered by end, so the periods with no length identical to the candidate are the
+     * first ones starting at its time
+     */
+    private static boolean identical(long start, long end, long[] starts, long[] ends, int i) {
+        return i < starts.length && starts[i] == start && ends[i] == end;
+    }
+
+    /**
+     * @return the first index with values[index] > value, or values.length
+     */
+    private static int firstAfter(long[] values, long value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] > value) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the first index with values[index] >= value, or values.length
+     */
+    private static int firstFrom(long[] values, long value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] >= value) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
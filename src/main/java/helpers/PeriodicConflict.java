@@ -0,0 +1,206 @@
+package helpers;
+
+import entities.Event;
+import entities.recursions.NumberOfRepetitionInput;
+import entities.recursions.RecursiveEvent;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+
+/**
+ * Finds when two recursions conflict from their cycles and periods alone, without listing their events.
+ * <p>
+ * An event repeated every p minutes n times starts at start + k * p for 0 <= k < n. Two such events conflict at
+ * repetitions i and j when the difference between their starts, (start1 - start2) + i * p1 - j * p2, makes
+ * <code>IsOverlapped.overlaps</code> true - that is, it is strictly between -duration1 and duration2 (or both
+ * are the same instant). The difference only takes multiples of gcd(p1, p2) plus a constant, so only the few multiples
+ * in that range have to be tried, and for each the repetitions i and j are solved for with the extended Euclidean
+ * algorithm. This takes the same time however many times the events repeat.
+ * <p>
+ * Recursions repeated by number of repetitions with a period of whole days are solved this way. Others (periods of
+ * months or years, which vary in length, or repetition between two dates) are compared event by event.
+ *
+ * @see IsOverlapped#overlaps(long, long, long, long)
+ */
+public class PeriodicConflict {
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * finds the first and last conflict between the events of two recursions
+     *
+     * @param recursion1 a recursion
+     * @param recursion2 another recursion
+     * @return the start of the first and of the last period when an event of one recursion overlaps an event of the
+     * other, or null if they never conflict
+     */
+    public static LocalDateTime[] find(RecursiveEvent recursion1, RecursiveEvent recursion2) {
+        long[] conflict;
+        if (isRegular(recursion1) && isRegular(recursion2)) {
+            conflict = findRegular(recursion1, recursion2);
+        } else {
+            conflict = findExpanded(recursion1.listOfEventsInCycles(recursion1.getEventsInOneCycle()),
+                    recursion2.listOfEventsInCycles(recursion2.getEventsInOneCycle()));
+        }
+        if (conflict == null) {
+            return null;
+        }
+        return new LocalDateTime[]{Event.fromEpochMinute(conflict[0]), Event.fromEpochMinute(conflict[1])};
+    }
+
+    /**
+     * finds the first and last conflict between two events repeated at fixed periods
+     *
+     * == Representation Invariant ==
+     * duration1, duration2 >= 0 and period1, period2 > 0
+     * @param start1    start of the first repetition of the first event (e.g. in epoch minutes)
+     * @param duration1 length of the first event
+     * @param period1   time between repetitions of the first event
+     * @param count1    number of repetitions of the first event
+     * @param start2    start of the first repetition of the second event
+     * @param duration2 length of the second event
+     * @param period2   time between repetitions of the second event
+     * @param count2    number of repetitions of the second event
+     * @return the start of the first and of the last overlap between repetitions of the events, or null if they never
+     * overlap
+     */
+    public static long[] solve(long start1, long duration1, long period1, long count1,
+                               long start2, long duration2, long period2, long count2) {
+        if (count1 <= 0 || count2 <= 0) {
+            return null;
+        }
+        long gcd = gcd(period1, period2);
+        long reduced1 = period1 / gcd;
+        long reduced2 = period2 / gcd;
+        // inverse of reduced1 modulo reduced2, to solve i * reduced1 = r (mod reduced2)
+        long inverse = Math.floorMod(extendedGcd(reduced1, reduced2), reduced2);
+        long offset = start1 - start2;
+        long[] conflict = null;
+        // differences between the starts that overlap: strictly between -duration1 and duration2, or 0 for two
+        // identical instants
+        long lowest = duration1 == 0 && duration2 == 0 ? 0 : -duration1 + 1;
+        long highest = duration1 == 0 && duration2 == 0 ? 0 : duration2 - 1;
+        for (long difference = lowest + Math.floorMod(offset - lowest, gcd); difference <= highest;
+             difference += gcd) {
+            // i * period1 - j * period2 = difference - offset
+            long target = (difference - offset) / gcd;
+            long i0 = Math.floorMod(Math.floorMod(target, reduced2) * inverse, reduced2);
+            long j0 = (i0 * reduced1 - target) / reduced2;
+            // every solution is i = i0 + k * reduced2, j = j0 + k * reduced1
+            long kLow = Math.max(ceilDiv(-i0, reduced2), ceilDiv(-j0, reduced1));
+            long kHigh = Math.min(Math.floorDiv(count1 - 1 - i0, reduced2), Math.floorDiv(count2 - 1 - j0, reduced1));
+            if (kLow <= kHigh) {
+                long first = Math.max(start1 + (i0 + kLow * reduced2) * period1,
+                        start2 + (j0 + kLow * reduced1) * period2);
+                long last = Math.max(start1 + (i0 + kHigh * reduced2) * period1,
+                        start2 + (j0 + kHigh * reduced1) * period2);
+                conflict = merge(conflict, new long[]{first, last});
+            }
+        }
+        return conflict;
+    }
+
+    /**
+     * @return whether the recursion repeats its cycle a number of times, every fixed number of days
+     */
+    private static boolean isRegular(RecursiveEvent recursion) {
+        if (!(recursion.getMethodToGetDate() instanceof NumberOfRepetitionInput) ||
+                recursion.getEventsInOneCycle().size() < 2) {
+            return false;
+        }
+        Period period = cyclePeriod(recursion);
+        return period.getYears() == 0 && period.getMonths() == 0 && period.getDays() > 0;
+    }
+
+    /**
+     * @return the period between cycles: from the date of the first event to the date of the last event of the cycle
+     * (the first event of the next cycle), as in <code>NumberOfRepetitionInput</code>
+     */
+    private static Period cyclePeriod(RecursiveEvent recursion) {
+        List<Event> cycle = recursion.getEventsInOneCycle();
+        return Period.between(LocalDate.from(cycle.get(0).getEndTime()),
+                LocalDate.from(cycle.get(cycle.size() - 1).getEndTime()));
+    }
+
+    /**
+     * solves every pair of events of the cycles of two regular recursions. NumberOfRepetitionInput repeats the
+     * events of the cycle one to numberOfRepetitions periods later
+     */
+    private static long[] findRegular(RecursiveEvent recursion1, RecursiveEvent recursion2) {
+        long period1 = cyclePeriod(recursion1).getDays() * MINUTES_PER_DAY;
+        long period2 = cyclePeriod(recursion2).getDays() * MINUTES_PER_DAY;
+        long count1 = ((NumberOfRepetitionInput) recursion1.getMethodToGetDate()).getNumberOfRepetitions();
+        long count2 = ((NumberOfRepetitionInput) recursion2.getMethodToGetDate()).getNumberOfRepetitions();
+        List<Event> cycle1 = recursion1.getEventsInOneCycle();
+        List<Event> cycle2 = recursion2.getEventsInOneCycle();
+        long[] conflict = null;
+        for (Event event1 : cycle1.subList(0, cycle1.size() - 1)) {
+            for (Event event2 : cycle2.subList(0, cycle2.size() - 1)) {
+                conflict = merge(conflict, solve(event1.getStartMinute() + period1,
+                        event1.getEndMinute() - event1.getStartMinute(), period1, count1,
+                        event2.getStartMinute() + period2, event2.getEndMinute() - event2.getStartMinute(), period2,
+                        count2));
+            }
+        }
+        return conflict;
+    }
+
+    /**
+     * compares every pair of events of two recursions
+     */
+    private static long[] findExpanded(List<Event> events1, List<Event> events2) {
+        long[] conflict = null;
+        for (Event event1 : events1) {
+            for (Event event2 : events2) {
+                if (IsOverlapped.overlaps(event1.getStartMinute(), event1.getEndMinute(), event2.getStartMinute(),
+                        event2.getEndMinute())) {
+                    long start = Math.max(event1.getStartMinute(), event2.getStartMinute());
+                    conflict = merge(conflict, new long[]{start, start});
+                }
+            }
+        }
+        return conflict;
+    }
+
+    /**
+     * @return the earliest first and latest last of two conflicts, either of which may be null
+     */
+    private static long[] merge(long[] conflict1, long[] conflict2) {
+        if (conflict1 == null || conflict2 == null) {
+            return conflict1 == null ? conflict2 : conflict1;
+        }
+        return new long[]{Math.min(conflict1[0], conflict2[0]), Math.max(conflict1[1], conflict2[1])};
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    /**
+     * @return x such that a * x + b * y = gcd(a, b) for some y
+     */
+    private static long extendedGcd(long a, long b) {
+        long x = 1;
+        long nextX = 0;
+        while (b != 0) {
+            long quotient = a / b;
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+            long previousX = x;
+            x = nextX;
+            nextX = previousX - quotient * nextX;
+        }
+        return x;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return -Math.floorDiv(-a, b);
+    }
+}
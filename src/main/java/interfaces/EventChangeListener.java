@@ -0,0 +1,17 @@
+package interfaces;
+
+import usecases.events.EventManager;
+import usecases.events.changes.EventChange;
+
+import java.util.List;
+
+public interface EventChangeListener {
+    /**
+     * called with changes to the events of an EventManager, in the order they happened: once per mutation, while it
+     * happens, or once with the coalesced changes of a batch when it is committed
+     *
+     * @param changes      the changes, at most one of each kind per event
+     * @param eventManager the eventManager that was changed
+     */
+    void changed(List<EventChange> changes, EventManager eventManager);
+}
@@ -0,0 +1,49 @@
+package interfaces;
+
+import entities.Event;
+import entities.recursions.RecursiveEvent;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface EventShardSource {
+    /**
+     * @param userID UUID of a User
+     * @return the saved events of this User (empty if they have none)
+     */
+    List<Event> readEvents(UUID userID);
+
+    /**
+     * @param userID UUID of a User
+     * @return the saved recursions of this User by UUID (empty if they have none)
+     */
+    Map<UUID, RecursiveEvent> readRecursiveEvents(UUID userID);
+
+    /**
+     * @param userIDs UUIDs of Users
+     * @return map of UUID of each of these Users to their saved events (empty if they have none), read together
+     */
+    default Map<UUID, List<Event>> readEvents(Collection<UUID> userIDs) {
+        Map<UUID, List<Event>> events = new HashMap<>();
+        for (UUID userID : userIDs) {
+            events.put(userID, this.readEvents(userID));
+        }
+        return events;
+    }
+
+    /**
+     * @param userIDs UUIDs of Users
+     * @return map of UUID of each of these Users to their saved recursions by UUID (empty if they have none), read
+     * together
+     */
+    default Map<UUID, Map<UUID, RecursiveEvent>> readRecursiveEvents(Collection<UUID> userIDs) {
+        Map<UUID, Map<UUID, RecursiveEvent>> recursiveEvents = new HashMap<>();
+        for (UUID userID : userIDs) {
+            recursiveEvents.put(userID, this.readRecursiveEvents(userID));
+        }
+        return recursiveEvents;
+    }
+}
@@ -0,0 +1,16 @@
+package interfaces;
+
+import entities.Event;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface RecursionObserver {
+    /**
+     * called whenever the events expanded from a recursion are created or rebuilt
+     *
+     * @param recursiveId the UUID of the recursion that was updated
+     * @param instances   all the events currently in the recursion (empty if the recursion no longer has any)
+     */
+    void updateRecursion(UUID recursiveId, List<Event> instances);
+}
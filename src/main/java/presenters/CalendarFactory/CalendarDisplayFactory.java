@@ -2,6 +2,9 @@ package presenters.CalendarFactory;
 import usecases.calendar.CalendarManager;
 import usecases.events.EventManager;
 
+import java.time.LocalTime;
+import java.util.Map;
+
 /**
  * A Factory class that determines which type of DisplayCalendar class to show
  * @author Seo Won Yi
@@ -13,10 +16,22 @@ import usecases.events.EventManager;
 public class CalendarDisplayFactory {
     private final CalendarManager calendarManager;
     private final EventManager eventManager;
+    private final Map<LocalTime, LocalTime> freeTime;
 
     public CalendarDisplayFactory(CalendarManager cm, EventManager em) {
+        this(cm, em, null);
+    }
+
+    /**
+     * Weekly and monthly calendars made by this factory also suggest other times for conflicted events
+     * @param cm CalendarManager object that will provide calendar information
+     * @param em EventManager object to get event information from
+     * @param freeTime the user's free time, which suggested times avoid (no times are suggested if null)
+     */
+    public CalendarDisplayFactory(CalendarManager cm, EventManager em, Map<LocalTime, LocalTime> freeTime) {
         this.calendarManager = cm;
         this.eventManager = em;
+        this.freeTime = freeTime;
     }
 
     /**
@@ -30,9 +45,16 @@ public class CalendarDisplayFactory {
      */
     public CalendarDisplay displaySpecificCalendarByType(String calendarType, int year, int month, int date){
         if (calendarType.equalsIgnoreCase("MONTHLY")) {
+            if (this.freeTime != null) {
+                return new MonthlyCalendarDisplay(this.calendarManager, this.eventManager, year, month, this.freeTime);
+            }
             return new MonthlyCalendarDisplay(this.calendarManager, this.eventManager, year, month);
         }
         else if (calendarType.equalsIgnoreCase("WEEKLY")){
+            if (this.freeTime != null) {
+                return new WeeklyCalendarDisplay(this.calendarManager, this.eventManager, year, month, date,
+                        this.freeTime);
+            }
             return new WeeklyCalendarDisplay(this.calendarManager, this.eventManager, year, month, date);
         }
         else if (calendarType.equalsIgnoreCase("DAILY")){
@@ -50,7 +50,6 @@ public class DailyCalendarDisplay extends CalendarDisplay {
     @Override
     public String displayCalendar() {
         StringBuilder result = new StringBuilder();
-        cf.eventSorter(calendarMap, em);
         setTimeLine();
         int lengthDecider = getLongestEventLength();
         dailyFrame(result, lengthDecider);
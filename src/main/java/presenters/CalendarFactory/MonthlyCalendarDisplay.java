@@ -4,10 +4,12 @@ import helpers.Constants;
 import helpers.DisplayCalendarHelper;
 import presenters.ConflictPresenters.ConflictDisplay;
 import presenters.ConflictPresenters.MonthlyConflictDisplay;
+import usecases.ConflictResolver;
 import usecases.calendar.CalendarManager;
 import usecases.calendar.MonthlyCalendarByType;
 import usecases.events.EventManager;
 
+import java.time.LocalTime;
 import java.time.YearMonth;
 import java.util.*;
 
@@ -49,13 +51,25 @@ public class MonthlyCalendarDisplay extends CalendarDisplay {
         this.conflictDisplay = new MonthlyConflictDisplay(cm, em, year, month, tempYearMonth.lengthOfMonth());
     }
 
+    /**
+     * Initialize the class as above, also suggesting other times for the conflicted events
+     * @param cm CalendarManager object to get information from
+     * @param year given year
+     * @param month given month
+     * @param freeTime the user's free time, which suggested times avoid
+     */
+    public MonthlyCalendarDisplay(CalendarManager cm, EventManager em, int year, int month,
+                                  Map<LocalTime, LocalTime> freeTime) {
+        this(cm, em, year, month);
+        this.conflictDisplay.setResolver(new ConflictResolver(em, freeTime));
+    }
+
     /**
      * Display the image of the monthly calendar
      * @return String image of the monthly calendar
      */
     @Override
     public String displayCalendar() {
-        cf.eventSorter(calendarMap, em);
         StringBuilder result = new StringBuilder();
         List<Integer> usedDates = new ArrayList<>();
         List<Integer> usedContentDates = new ArrayList<>();
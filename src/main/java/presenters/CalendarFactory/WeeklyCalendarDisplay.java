@@ -4,10 +4,12 @@ import helpers.Constants;
 import helpers.DisplayCalendarHelper;
 import presenters.ConflictPresenters.ConflictDisplay;
 import presenters.ConflictPresenters.WeeklyConflictDisplay;
+import usecases.ConflictResolver;
 import usecases.calendar.CalendarManager;
 import usecases.events.EventManager;
 import usecases.calendar.WeeklyCalendarByType;
 
+import java.time.LocalTime;
 import java.util.*;
 
 /**
@@ -41,6 +43,20 @@ public class WeeklyCalendarDisplay extends CalendarDisplay {
         this.conflictDisplay = new WeeklyConflictDisplay(cm, em, year, month, date);
     }
 
+    /**
+     * Initialize the class as above, also suggesting other times for the conflicted events
+     * @param cm CalendarManager object that will provide calendar information
+     * @param year given year
+     * @param month given month
+     * @param date given date
+     * @param freeTime the user's free time, which suggested times avoid
+     */
+    public WeeklyCalendarDisplay(CalendarManager cm, EventManager em, int year, int month, int date,
+                                 Map<LocalTime, LocalTime> freeTime) {
+        this(cm, em, year, month, date);
+        this.conflictDisplay.setResolver(new ConflictResolver(em, freeTime));
+    }
+
     /**
      * Display the String image of weekly calendar by running various methods
      * @return string image of weekly calendar
@@ -48,7 +64,6 @@ public class WeeklyCalendarDisplay extends CalendarDisplay {
     @Override
     public String displayCalendar(){
         int startingDayOfWeek = cf.findStartDayOfWeekInteger(this.year, this.month, this.date);
-        cf.eventSorter(calendarMap, em);
         StringBuilder result = new StringBuilder();
         setUpCalendar(startingDayOfWeek, result, cf);
         addDate(result, startingDayOfWeek);
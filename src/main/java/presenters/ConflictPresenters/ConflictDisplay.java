@@ -1,11 +1,16 @@
 package presenters.ConflictPresenters;
 
+import helpers.Constants;
 import helpers.EventIDConverter;
 import usecases.ConflictChecker;
+import usecases.ConflictResolver;
 import usecases.calendar.CalendarManager;
 import usecases.events.EventManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -22,6 +27,7 @@ public abstract class ConflictDisplay {
     public EventManager em;
     public ConflictChecker conflictChecker;
     public EventIDConverter converter;
+    private ConflictResolver resolver;
 
     /**
      * Initialize the ConflictChecker with the given CalendarManager and EventManager objects
@@ -35,6 +41,15 @@ public abstract class ConflictDisplay {
         this.converter = new EventIDConverter(em);
     }
 
+    /**
+     * Set the ConflictResolver used to suggest other times for the conflicted events. No times are suggested if it is
+     * not set
+     * @param resolver ConflictResolver object for the events of this display
+     */
+    public void setResolver(ConflictResolver resolver) {
+        this.resolver = resolver;
+    }
+
     /**
      * Display conflicted events' names
      * @return display conflicted events' names
@@ -55,5 +70,28 @@ public abstract class ConflictDisplay {
         }
         return notify;
     }
-}
 
+    /**
+     * Suggest other times for the events in conflictEvent, if a ConflictResolver is set
+     * @param conflictEvent list of event UUIDs
+     * @return string of suggested times for each event, empty if there is no ConflictResolver
+     */
+    protected StringBuilder getSuggestionString(List<UUID> conflictEvent) {
+        StringBuilder suggest = new StringBuilder();
+        if (this.resolver == null) {
+            return suggest;
+        }
+        Map<UUID, List<LocalDateTime>> suggestions = this.resolver.suggest(conflictEvent,
+                Constants.SUGGESTIONS_PER_CONFLICT, Duration.ofMillis(Constants.SUGGESTION_BUDGET_MILLIS));
+        for (Map.Entry<UUID, List<LocalDateTime>> entry : suggestions.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                suggest.append("\n").append("ID:").append(this.converter.getIntFromUUID(entry.getKey()))
+                        .append(" could move to:");
+                for (LocalDateTime time : entry.getValue()) {
+                    suggest.append(" ").append(time.toString().replace("T", " "));
+                }
+            }
+        }
+        return suggest;
+    }
+}
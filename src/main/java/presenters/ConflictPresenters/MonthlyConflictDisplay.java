@@ -41,6 +41,9 @@ public class MonthlyConflictDisplay extends ConflictDisplay {
     @Override
     public String displayConflict() {
         List<UUID> conflictEvent = new ArrayList<>();
+        if (!this.conflictChecker.hasConflicts(year, month)) {
+            return "There is no conflict for the given month";
+        }
         for (int i = 1; i <= numOfDays; i++) {
             List<UUID> tempConflictEventList = this.conflictChecker.notifyConflict(year, month, i);
             for (UUID eventID : tempConflictEventList) {
@@ -54,6 +57,7 @@ public class MonthlyConflictDisplay extends ConflictDisplay {
         }
         else {
             StringBuilder notify = getConflictEventString(conflictEvent);
+            notify.append(getSuggestionString(conflictEvent));
             return notify.toString();
         }
     }
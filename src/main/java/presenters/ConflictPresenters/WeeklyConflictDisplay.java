@@ -54,6 +54,7 @@ public class WeeklyConflictDisplay extends ConflictDisplay {
         }
         else {
             StringBuilder notify = getConflictEventString(conflictEvent);
+            notify.append(getSuggestionString(conflictEvent));
             return notify.toString();
         }
     }
@@ -0,0 +1,157 @@
+package usecases;
+
+import entities.Category;
+import entities.User;
+import helpers.FreeTimePeriod;
+import usecases.events.EventManager;
+import usecases.events.EventShardStore;
+import usecases.events.FreeBusyIndex;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Finds times when every member (admin and regular users) of a Category is available, e.g. to meet as a study group.
+ * A member is busy during their events, work sessions and repeated events, and during the free time in their
+ * UserPreferences, which the scheduler also keeps clear (see <code>DefaultTimeGetter</code>).
+ * <p>
+ * The members' days are compared as free/busy bitmaps of quarter hours: the busy bitmaps of every member are OR-ed
+ * together, one pass per member, and the common free periods are read from the result. The events of members other
+ * than the logged-in User are read from the EventShardStore together for the search and released after.
+ *
+ * @see FreeBusyIndex
+ */
+public class CategoryAvailability {
+    private static final int MINUTES_PER_SLOT = 15;
+    private static final int SLOTS_PER_DAY = 96;
+    private final EventShardStore eventShards;
+
+    /**
+     * @param eventShards the events of every User
+     */
+    public CategoryAvailability(EventShardStore eventShards) {
+        this.eventShards = eventShards;
+    }
+
+    /**
+     * finds the longest periods between the start of from and the end of to when no member of the category is busy
+     *
+     * @param category a Category
+     * @param from     first day to search
+     * @param to       last day to search
+     * @param minutes  shortest period to return, in minutes (rounded up to a quarter hour)
+     * @param count    most periods to return
+     * @return map of key: start of each common free period to value: its length in minutes, longest first (earliest
+     * first among periods of the same length)
+     */
+    public Map<LocalDateTime, Long> findCommonSlots(Category category, LocalDate from, LocalDate to, long minutes,
+                                                    int count) {
+        int days = (int) (to.toEpochDay() - from.toEpochDay() + 1);
+        long[] busy = new long[Math.max(days, 0) * 2];
+        Map<UUID, User> members = this.getMembers(category);
+        Set<UUID> loaded = new HashSet<>();
+        for (UUID memberID : members.keySet()) {
+            if (this.eventShards.isLoaded(memberID)) {
+                loaded.add(memberID);
+            }
+        }
+        Map<UUID, EventManager> shards = this.eventShards.getAll(members.keySet());
+        for (User member : members.values()) {
+            long[] freeTime = freeTimeBits(member.getUserPreferences().getFreeTime());
+            FreeBusyIndex index = shards.get(member.getId()).getFreeBusyIndex();
+            for (int day = 0; day < days; day++) {
+                long[] memberBusy = index.getDay(from.plusDays(day));
+                busy[2 * day] |= memberBusy[0] | freeTime[0];
+                busy[2 * day + 1] |= memberBusy[1] | freeTime[1];
+            }
+        }
+        for (UUID memberID : members.keySet()) {
+            if (!loaded.contains(memberID)) {
+                this.eventShards.release(memberID);
+            }
+        }
+        return this.longestFree(busy, from, (minutes + MINUTES_PER_SLOT - 1) / MINUTES_PER_SLOT, count);
+    }
+
+    /**
+     * @return the admin and regular users of the category, each once, by UUID
+     */
+    private Map<UUID, User> getMembers(Category category) {
+        Map<UUID, User> members = new LinkedHashMap<>();
+        for (User user : category.getAdminUsers()) {
+            members.put(user.getId(), user);
+        }
+        for (User user : category.getRegularUsers()) {
+            members.putIfAbsent(user.getId(), user);
+        }
+        return members;
+    }
+
+    /**
+     * reads the runs of free quarter hours from the busy bitmaps of consecutive days (runs continue over midnight), and
+     * keeps the count longest runs of at least shortest quarter hours
+     */
+    private Map<LocalDateTime, Long> longestFree(long[] busy, LocalDate from, long shortest, int count) {
+        // the shortest kept run (the latest of those) is at the head, to be replaced by a longer run
+        PriorityQueue<long[]> longest = new PriorityQueue<>((run1, run2) -> run1[1] != run2[1] ?
+                Long.compare(run1[1], run2[1]) : Long.compare(run2[0], run1[0]));
+        long totalSlots = busy.length / 2L * SLOTS_PER_DAY;
+        long runStart = -1;
+        for (long slot = 0; slot <= totalSlots; slot++) {
+            boolean free = slot < totalSlots && !isBusy(busy, slot);
+            if (free && runStart < 0) {
+                runStart = slot;
+            } else if (!free && runStart >= 0) {
+                if (slot - runStart >= Math.max(shortest, 1) && count > 0) {
+                    longest.add(new long[]{runStart, slot - runStart});
+                    if (longest.size() > count) {
+                        longest.poll();
+                    }
+                }
+                runStart = -1;
+            }
+        }
+        List<long[]> runs = new ArrayList<>(longest);
+        runs.sort(longest.comparator().reversed());
+        Map<LocalDateTime, Long> slotsFound = new LinkedHashMap<>();
+        for (long[] run : runs) {
+            slotsFound.put(LocalDateTime.of(from, LocalTime.MIN).plusMinutes(run[0] * MINUTES_PER_SLOT),
+                    run[1] * MINUTES_PER_SLOT);
+        }
+        return slotsFound;
+    }
+
+    /**
+     * @return whether the given quarter hour (counted from the start of the first day) is busy
+     */
+    private static boolean isBusy(long[] busy, long slot) {
+        int day = (int) (slot / SLOTS_PER_DAY);
+        int slotOfDay = (int) (slot % SLOTS_PER_DAY);
+        return (busy[2 * day + slotOfDay / 64] & (1L << (slotOfDay % 64))) != 0;
+    }
+
+    /**
+     * @return the bits of the quarter hours of a day that any part of the free time covers
+     * @see FreeTimePeriod
+     */
+    private static long[] freeTimeBits(Map<LocalTime, LocalTime> freeTime) {
+        long[] bits = new long[2];
+        for (Map.Entry<LocalTime, LocalTime> period : freeTime.entrySet()) {
+            int[] minutes = FreeTimePeriod.minutesOfDay(period.getKey(), period.getValue());
+            setBits(bits, minutes[0], Math.min(minutes[1], FreeTimePeriod.MINUTES_PER_DAY));
+            setBits(bits, 0, minutes[1] - FreeTimePeriod.MINUTES_PER_DAY);
+        }
+        return bits;
+    }
+
+    /**
+     * sets the bits of the quarter hours that any part of [start, end) (in minutes of the day) covers
+     */
+    private static void setBits(long[] bits, int start, int end) {
+        for (int slot = start / MINUTES_PER_SLOT; slot * MINUTES_PER_SLOT < end; slot++) {
+            bits[slot / 64] |= 1L << (slot % 64);
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package usecases;
 
+import entities.Event;
 import entities.OurCalendar;
-import helpers.IsOverlapped;
+import helpers.ConflictSweep;
 import usecases.calendar.CalendarManager;
 import usecases.events.EventManager;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 /**
  * Check conflict for given timeline using the information from CalendarManager and EventManager
@@ -41,33 +47,129 @@ public class ConflictChecker {
      */
     public List<UUID> notifyConflict(int year, int month, int date) {
         List<UUID> conflictEventList = new ArrayList<>();
-        int adjustedMonth = this.calendarManager.adjustMonth(year, month);
-        int currentMonth = this.calendarManager.getCurrentMonth();
-        if (adjustedMonth == currentMonth) {
-            OurCalendar currentCalendar = this.calendarManager.getCurrentCalendar();
-            updatedConflict(date, conflictEventList, currentCalendar);
+        if (!hasConflicts(year, month, date)) {
+            return conflictEventList;
         }
-        else if (adjustedMonth > currentMonth && currentMonth + 4 > adjustedMonth) {
-            OurCalendar futureCalendar = this.calendarManager.getFutureCalendar().get(adjustedMonth - currentMonth - 1);
-            updatedConflict(date, conflictEventList, futureCalendar);
-        }
-        else if (adjustedMonth < currentMonth && currentMonth - 4 < adjustedMonth) {
-            OurCalendar pastCalendar = this.calendarManager.getPastCalendar().get(currentMonth - adjustedMonth - 1);
-            updatedConflict(date, conflictEventList, pastCalendar);
+        OurCalendar calendar = getCalendar(year, month);
+        if (calendar != null) {
+            for (List<UUID> cluster : conflictClusters(calendar, date)) {
+                conflictEventList.addAll(cluster);
+            }
+            setConflict(conflictEventList, calendar);
         }
         return conflictEventList;
     }
 
     /**
-     * update conflictEventList by observing events in calendar for the specific date
-     * @param date given date to look for conflict
-     * @param conflictEventList List of conflicted events to be updated
-     * @param calendar OurCalendar object to be explored
+     * Find the groups of conflicting events for the given year, month, and date. Each event in a group conflicts with
+     * at least one other event in it, and with no event in any other group
+     * @param year given year
+     * @param month given month
+     * @param date given date
+     * @return a list of groups of conflicted event IDs, each ordered by start time
      */
-    private void updatedConflict(int date, List<UUID> conflictEventList, OurCalendar calendar) {
-        List<UUID> eventIDList = calendar.getCalendarMap().get(date);
-        addConflictEventID(conflictEventList, eventIDList);
-        setConflict(conflictEventList, calendar);
+    public List<List<UUID>> getConflictClusters(int year, int month, int date) {
+        OurCalendar calendar = getCalendar(year, month);
+        if (calendar == null || !hasConflicts(year, month, date)) {
+            return new ArrayList<>();
+        }
+        return conflictClusters(calendar, date);
+    }
+
+    /**
+     * Find the groups of conflicting events in the given range, which may be of any length and is not limited to the
+     * months stored by the calendar manager. Events crossing midnight are compared with the events on every day they
+     * span. The groups are found lazily as the stream is consumed, so callers can stop early
+     * @param from start of the range
+     * @param to end of the range
+     * @return a stream of groups of conflicted event IDs, each ordered by start time, in order of start time
+     */
+    public Stream<List<UUID>> findConflicts(LocalDateTime from, LocalDateTime to) {
+        return this.eventManager.findConflicts(from, to);
+    }
+
+    /**
+     * Find the groups of conflicting events in the given range like findConflicts(from, to), splitting the range by
+     * week across the given pool. The result does not depend on the parallelism of the pool
+     * @param from start of the range
+     * @param to end of the range
+     * @param pool ForkJoinPool to scan the range in
+     * @return a list of groups of conflicted event IDs, each ordered by start time, in order of start time
+     * @see ParallelConflictScan
+     */
+    public List<List<UUID>> findConflicts(LocalDateTime from, LocalDateTime to, ForkJoinPool pool) {
+        return new ParallelConflictScan(pool).scan(this.eventManager, from, to);
+    }
+
+    /**
+     * Find the groups of conflicting events of each of the given users in the given range, scanning the users and
+     * the weeks of the range across the given pool
+     * @param shards the EventManager of each user, e.g. from an <code>EventShardStore</code>
+     * @param from start of the range
+     * @param to end of the range
+     * @param pool ForkJoinPool to scan the users and range in
+     * @return the groups of conflicted event IDs of each user (as by findConflicts(from, to, pool)), by user ID
+     * @see ParallelConflictScan#scan(Map, LocalDateTime, LocalDateTime)
+     */
+    public Map<UUID, List<List<UUID>>> findConflicts(Map<UUID, EventManager> shards, LocalDateTime from,
+                                                     LocalDateTime to, ForkJoinPool pool) {
+        return new ParallelConflictScan(pool).scan(shards, from, to);
+    }
+
+    /**
+     * Find the largest number of events happening at the same time in the given range (2 or more means some events
+     * conflict), using the overlap depth tree of the event manager
+     * @param from start of the range
+     * @param to end of the range
+     * @return the largest number of events happening at the same time from from up to to
+     * @see usecases.events.OverlapDepthTree
+     */
+    public int getMaxDepth(LocalDateTime from, LocalDateTime to) {
+        return this.eventManager.getOverlapDepthTree().maxDepth(from, to);
+    }
+
+    /**
+     * Find when the largest number of events are happening at the same time in the given range, using the overlap
+     * depth tree of the event manager
+     * @param from start of the range
+     * @param to end of the range
+     * @return the first time in the range with the most events happening, or null if there is no event in the range
+     */
+    public LocalDateTime findPeak(LocalDateTime from, LocalDateTime to) {
+        return this.eventManager.getOverlapDepthTree().findPeak(from, to);
+    }
+
+    /**
+     * Check if there is any conflict in the given month, using the conflict registry of the event manager
+     * @param year given year
+     * @param month given month
+     * @return whether any events conflict within the month
+     */
+    public boolean hasConflicts(int year, int month) {
+        return this.eventManager.getConflictRegistry().hasConflicts(YearMonth.of(year, month));
+    }
+
+    /**
+     * Check if there is any conflict on the given date, using the conflict registry of the event manager
+     * @param year given year
+     * @param month given month
+     * @param date given date (may be past the end of the month, in which case there is no conflict)
+     * @return whether any events conflict on the date
+     */
+    public boolean hasConflicts(int year, int month, int date) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return yearMonth.isValidDay(date) &&
+                this.eventManager.getConflictRegistry().hasConflicts(yearMonth.atDay(date));
+    }
+
+    /**
+     * get the calendar of the given month from the calendar manager
+     * @param year given year
+     * @param month given month
+     * @return OurCalendar of the month
+     */
+    private OurCalendar getCalendar(int year, int month) {
+        return this.calendarManager.getCalendar(year, month);
     }
 
     /**
@@ -83,45 +185,44 @@ public class ConflictChecker {
     }
 
     /**
-     * Using the helper class IsOverlapped, check for conflicted events
-     * @param conflictEventList Conflicted events ID List to be updated
-     * @param eventIDList List of event IDs to consider from
+     * get the groups of conflicted events of a date of the calendar, as kept by the calendar if they were found when
+     * the month was filled, or else found now
+     * @param calendar calendar of the month
+     * @param date date in the month
+     * @return list of groups of conflicted event IDs
      */
-    private void addConflictEventID(List<UUID> conflictEventList, List<UUID> eventIDList) {
-        if (eventIDList != null && eventIDList.size() >= 2) {
-            for (int i = 0; i < eventIDList.size() - 1; i++) {
-                List<LocalDateTime> firstTimeList = getTimeList(eventIDList, i);
-                for (int j = i + 1; j < eventIDList.size(); j++) {
-                    List<LocalDateTime> secondTimeList = getTimeList(eventIDList, j);
-                    IsOverlapped isOverlapped = new IsOverlapped(firstTimeList, secondTimeList);
-                    if (isOverlapped.getResult()) {
-                        if (!conflictEventList.contains(eventIDList.get(i))) {
-                            conflictEventList.add(eventIDList.get(i));
-                        }
-                        if (!conflictEventList.contains(eventIDList.get(j))) {
-                            conflictEventList.add(eventIDList.get(j));
-                        }
-                    }
-                }
-            }
+    private List<List<UUID>> conflictClusters(OurCalendar calendar, int date) {
+        List<List<UUID>> clusters = calendar.getConflictClusters(date);
+        if (clusters != null) {
+            return new ArrayList<>(clusters);
         }
+        return conflictClusters(calendar.getCalendarMap().get(date));
     }
 
     /**
-     * Helper method to evaluate time information
-     * @param eventIDList event ID list to be considered from
-     * @param index index of the event ID list that we would like to extract start and end time from
-     * @return the list of local date time (two elements, start and end time)
+     * Using the helper class ConflictSweep, find the groups of conflicted events
+     * @param calendarIDList List of event IDs to consider from
+     * @return list of groups of conflicted event IDs
      */
-    private List<LocalDateTime> getTimeList(List<UUID> eventIDList, int index) {
-        List<LocalDateTime> firstTimeList = new ArrayList<>();
-        LocalDateTime startTime = eventManager.get(eventIDList.get(index)).getStartTime();
-        LocalDateTime endTime = eventManager.get(eventIDList.get(index)).getEndTime();
-        if (startTime == null) {
-            startTime = endTime;
+    private List<List<UUID>> conflictClusters(List<UUID> calendarIDList) {
+        List<List<UUID>> clusters = new ArrayList<>();
+        if (calendarIDList != null && calendarIDList.size() >= 2) {
+            List<UUID> eventIDList = new ArrayList<>(new LinkedHashSet<>(calendarIDList));
+            long[] starts = new long[eventIDList.size()];
+            long[] ends = new long[eventIDList.size()];
+            for (int i = 0; i < eventIDList.size(); i++) {
+                Event event = eventManager.get(eventIDList.get(i));
+                starts[i] = event.getStartMinute();
+                ends[i] = event.getEndMinute();
+            }
+            for (int[] cluster : ConflictSweep.clusters(starts, ends)) {
+                List<UUID> clusterIDs = new ArrayList<>();
+                for (int i : cluster) {
+                    clusterIDs.add(eventIDList.get(i));
+                }
+                clusters.add(clusterIDs);
+            }
         }
-        firstTimeList.add(startTime);
-        firstTimeList.add(endTime);
-        return firstTimeList;
+        return clusters;
     }
 }
@@ -0,0 +1,152 @@
+package usecases;
+
+import entities.Event;
+import helpers.FreeTimePeriod;
+import usecases.events.ConflictProbe;
+import usecases.events.EventManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Suggests other times for conflicting events: the nearest times, searching a quarter hour at a time later and
+ * earlier than the event's time, at which it would conflict with no other event and would not fall in the user's free
+ * time (which the scheduler keeps clear, see <code>DefaultTimeGetter</code>). Times that have already passed are never
+ * suggested, whatever the time of the event. Conflicts are checked with a
+ * <code>ConflictProbe</code> on the time index of the EventManager, so nothing is modified.
+ * <p>
+ * The search stops once enough times are found, the search has gone SEARCH_DAYS days either way, or the time budget
+ * runs out, so it can be run each time a calendar is displayed. Suggested times for one event do not overlap each
+ * other.
+ *
+ * @see ConflictChecker
+ * @see ConflictProbe
+ */
+public class ConflictResolver {
+    private static final int MINUTES_PER_STEP = 15;
+    private static final int SEARCH_DAYS = 14;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private final EventManager eventManager;
+    private final ConflictProbe probe;
+    private final Map<LocalTime, LocalTime> freeTime;
+    private final Clock clock; // clock the current time is read from
+
+    /**
+     * @param eventManager the EventManager of the conflicting events
+     * @param freeTime     map of key: start time to value: end time of the user's free time (see
+     *                     <code>UserPreferences.getFreeTime</code>). A period ending before it starts runs over midnight
+     */
+    public ConflictResolver(EventManager eventManager, Map<LocalTime, LocalTime> freeTime) {
+        this(eventManager, freeTime, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param eventManager the EventManager of the conflicting events
+     * @param freeTime     map of key: start time to value: end time of the user's free time (see
+     *                     <code>UserPreferences.getFreeTime</code>). A period ending before it starts runs over midnight
+     * @param clock        clock the current time is read from, so no time before it is suggested
+     */
+    public ConflictResolver(EventManager eventManager, Map<LocalTime, LocalTime> freeTime, Clock clock) {
+        this.eventManager = eventManager;
+        this.probe = new ConflictProbe(eventManager);
+        this.freeTime = freeTime;
+        this.clock = clock;
+    }
+
+    /**
+     * @param eventID ID of an event with a start time
+     * @param count   most times to suggest
+     * @param budget  longest time to search for
+     * @return suggested start times for the event, nearest to its start time first. Empty if the event has no start
+     * time or no time was found within the budget
+     */
+    public List<LocalDateTime> suggest(UUID eventID, int count, Duration budget) {
+        return this.suggest(eventID, count, System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * @param eventIDs IDs of conflicting events
+     * @param count    most times to suggest for each event
+     * @param budget   longest time to search for, for all the events together
+     * @return map of key: ID of each event to value: its suggested start times, nearest first, in the order of eventIDs.
+     * Events searched for after the budget ran out have no suggestions
+     */
+    public Map<UUID, List<LocalDateTime>> suggest(List<UUID> eventIDs, int count, Duration budget) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        Map<UUID, List<LocalDateTime>> suggestions = new LinkedHashMap<>();
+        for (UUID eventID : eventIDs) {
+            suggestions.put(eventID, this.suggest(eventID, count, deadline));
+        }
+        return suggestions;
+    }
+
+    /**
+     * searches outward from the event's start time, skipping times before now, until count times are found or
+     * System.nanoTime() passes deadline
+     */
+    private List<LocalDateTime> suggest(UUID eventID, int count, long deadline) {
+        List<LocalDateTime> suggestions = new ArrayList<>();
+        Event event = this.eventManager.get(eventID);
+        if (event == null || !event.hasStart()) {
+            return suggestions;
+        }
+        long start = event.getStartMinute();
+        long length = event.getEndMinute() - start;
+        long now = Event.toEpochMinute(LocalDateTime.now(this.clock));
+        List<Long> found = new ArrayList<>();
+        long steps = SEARCH_DAYS * MINUTES_PER_DAY / MINUTES_PER_STEP;
+        for (long step = 1; step <= steps && found.size() < count; step++) {
+            for (long candidate : new long[]{start + step * MINUTES_PER_STEP, start - step * MINUTES_PER_STEP}) {
+                if (System.nanoTime() - deadline > 0) {
+                    return toLocalDateTimes(found);
+                }
+                if (found.size() < count && candidate >= now &&
+                        this.isFeasible(eventID, candidate, candidate + length) &&
+                        found.stream().noneMatch(other -> candidate < other + length && other < candidate + length)) {
+                    found.add(candidate);
+                }
+            }
+        }
+        return toLocalDateTimes(found);
+    }
+
+    /**
+     * @return whether the period [start, end] (in epoch minutes) is outside the free time and conflicts with no event
+     * other than eventID
+     */
+    private boolean isFeasible(UUID eventID, long start, long end) {
+        return !this.inFreeTime(start, end) &&
+                this.probe.probe(eventID, Event.fromEpochMinute(start), Event.fromEpochMinute(end)).isEmpty();
+    }
+
+    /**
+     * @return whether any part of the period [start, end) (in epoch minutes) is in the free time of any day. A period
+     * with no length is in the free time when its instant is
+     */
+    private boolean inFreeTime(long start, long end) {
+        long until = Math.max(end, start + 1);
+        // free time running over midnight may start the day before the period
+        for (long day = Math.floorDiv(start, MINUTES_PER_DAY) - 1; day * MINUTES_PER_DAY < until; day++) {
+            for (Map.Entry<LocalTime, LocalTime> period : this.freeTime.entrySet()) {
+                int[] minutes = FreeTimePeriod.minutesOfDay(period.getKey(), period.getValue());
+                long freeStart = day * MINUTES_PER_DAY + minutes[0];
+                long freeEnd = day * MINUTES_PER_DAY + minutes[1];
+                if (start < freeEnd && freeStart < until) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<LocalDateTime> toLocalDateTimes(List<Long> epochMinutes) {
+        List<LocalDateTime> times = new ArrayList<>();
+        for (long epochMinute : epochMinutes) {
+            times.add(Event.fromEpochMinute(epochMinute));
+        }
+        return times;
+    }
+}
@@ -1,22 +1,63 @@
 package usecases;
 
 import entities.Event;
+import entities.OurCalendar;
+import helpers.ConflictSweep;
+import interfaces.EventChangeListener;
 import usecases.calendar.CalendarManager;
 import usecases.events.EventManager;
+import usecases.events.EventTimeline;
+import usecases.events.changes.*;
 
 import java.time.LocalDate;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Link EventManager and CalendarManager by adding events to the CalendarManager
+ * <p>
+ * Once subscribed to the EventManager, the CalendarManager is kept up to date with every change to the events: only
+ * the dates an added, moved or removed event was or is on are updated, and only in the months that are stored, so one
+ * CalendarManager can be shown many times without adding all the events again.
+ * <p>
+ * Months outside the hot window are filled from the timeline of the event manager, an immutable snapshot of the IDs
+ * and times of every event, along with the groups of conflicting events of each date. With prefetching enabled, the
+ * month after the last month loaded (or after the hot window) is filled on a background thread before it is used, so
+ * moving forward through the calendar does not wait for it. Only the snapshot is taken on the calling thread, as
+ * neither EventManager nor Event is thread-safe; finding the events of the month, their dates and their conflicts is
+ * done in the background. The month is used only if no event changed since the snapshot was taken, and is filled from
+ * the same snapshot on the calling thread if the background has not got to it yet.
  * @author Seo Won Yi
  * @see CalendarManager
  * @see EventManager
  */
 
-public class EventCalendarCollaborator {
+public class EventCalendarCollaborator implements EventChangeListener {
+    private static final long MINUTES_PER_DAY = 24 * 60;
     private final EventManager eventManager;
     private final CalendarManager calendarManager;
+    private final Map<YearMonth, Prefetch> prefetched = new HashMap<>();
+    private Executor prefetchExecutor;
+
+    /**
+     * A month being filled in the background from a snapshot of the events, with the modification count of the event
+     * manager when the snapshot was taken
+     */
+    private static class Prefetch {
+        private final long modifications;
+        private final EventTimeline timeline;
+        private final CompletableFuture<OurCalendar> calendar = new CompletableFuture<>();
+
+        private Prefetch(long modifications, EventTimeline timeline) {
+            this.modifications = modifications;
+            this.timeline = timeline;
+        }
+    }
 
     /**
      * initialize the class.
@@ -29,14 +70,267 @@ public class EventCalendarCollaborator {
     }
 
     /**
-     * add all the events to the calendar
+     * fill the month after the last month loaded in the common ForkJoinPool before it is used
+     */
+    public void enablePrefetch() {
+        this.enablePrefetch(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * fill the month after the last month loaded on executor before it is used
+     * @param executor the Executor to fill months on
+     */
+    public void enablePrefetch(Executor executor) {
+        this.prefetchExecutor = executor;
+    }
+
+    /**
+     * add all the events that fall within the hot window of the calendar to the calendar, each date sorted by the start
+     * time of the events, and let the calendar load any other month from the events when it is used
      */
     public void addAllEvents() {
-        for (Event event : this.eventManager.getAllEventsFlatSplit()) {
-            UUID eventID = this.eventManager.getDefaultEventInfoGetter().getID(event);
-            LocalDate eventDate = event.getEndTime().toLocalDate();
-            this.calendarManager.addToCalendar(eventID, eventDate.getYear(), eventDate.getMonthValue(),
-                    eventDate.getDayOfMonth());
+        LocalDateTime first = LocalDateTime.of(this.calendarManager.getFirstDate(), LocalTime.MIN);
+        LocalDateTime last = LocalDateTime.of(this.calendarManager.getLastDate(), LocalTime.MAX);
+        this.calendarManager.setMonthLoader(this::loadMonth);
+        for (Event event : this.eventManager.query(first, last)) {
+            for (Event split : this.eventManager.splitByDay(event)) {
+                UUID eventID = this.eventManager.getDefaultEventInfoGetter().getID(split);
+                LocalDate eventDate = split.getEndTime().toLocalDate();
+                this.calendarManager.addToCalendar(eventID, eventDate.getYear(), eventDate.getMonthValue(),
+                        eventDate.getDayOfMonth(), event.getStartMinute());
+            }
+        }
+        this.prefetch(YearMonth.from(this.calendarManager.getLastDate()).plusMonths(1));
+    }
+
+    /**
+     * create the calendar of a month with all the events that fall within it and their conflicts, found in the
+     * timeline of the event manager (or filled in the background, if no event changed since), and prefetch the next
+     * month
+     * @param yearMonth the month of the calendar
+     * @return OurCalendar of the month
+     */
+    public OurCalendar loadMonth(YearMonth yearMonth) {
+        OurCalendar calendar;
+        Prefetch prefetch = this.prefetched.remove(yearMonth);
+        if (prefetch != null && prefetch.modifications == this.eventManager.getModificationCount()) {
+            // a month the background has not got to is filled here from the same snapshot rather than waited for
+            if (!prefetch.calendar.isDone()) {
+                prefetch.calendar.complete(fillMonth(yearMonth, prefetch.timeline));
+            }
+            calendar = prefetch.calendar.join();
+        } else {
+            if (prefetch != null) {
+                prefetch.calendar.cancel(false);
+            }
+            calendar = fillMonth(yearMonth, this.eventManager.getTimeline());
+        }
+        this.prefetch(yearMonth.plusMonths(1));
+        return calendar;
+    }
+
+    /**
+     * start filling the calendar of a month in the background from a snapshot of the events, if prefetching is enabled
+     * and the month is neither stored nor already being filled
+     * @param yearMonth the month of the calendar
+     */
+    private void prefetch(YearMonth yearMonth) {
+        if (this.prefetchExecutor == null || this.calendarManager.isStored(yearMonth)) {
+            return;
+        }
+        long modifications = this.eventManager.getModificationCount();
+        this.prefetched.values().removeIf(prefetch -> {
+            if (prefetch.modifications == modifications) {
+                return false;
+            }
+            // stale, so the background does not need to fill it
+            prefetch.calendar.cancel(false);
+            return true;
+        });
+        if (this.prefetched.containsKey(yearMonth)) {
+            return;
+        }
+        Prefetch prefetch = new Prefetch(modifications, this.eventManager.getTimeline());
+        this.prefetched.put(yearMonth, prefetch);
+        this.prefetchExecutor.execute(() -> {
+            if (!prefetch.calendar.isDone()) {
+                prefetch.calendar.complete(fillMonth(yearMonth, prefetch.timeline));
+            }
+        });
+    }
+
+    /**
+     * @return the calendar of the month being filled in the background, or null if it is not prefetched or not filled
+     * yet
+     */
+    OurCalendar getPrefetched(YearMonth yearMonth) {
+        Prefetch prefetch = this.prefetched.get(yearMonth);
+        return prefetch == null ? null : prefetch.calendar.getNow(null);
+    }
+
+    /**
+     * create the calendar of a month with the events on each of its days sorted by start time, and the groups of
+     * conflicting events of each day (as <code>ConflictChecker</code> finds them). An event is on every day from its
+     * start to its end, as by <code>EventManager.splitByDay</code>. Only reads the timeline, so it may run on any
+     * thread
+     */
+    private static OurCalendar fillMonth(YearMonth yearMonth, EventTimeline timeline) {
+        OurCalendar calendar = new OurCalendar(yearMonth.getYear(), yearMonth.getMonthValue());
+        long monthStart = Event.toEpochMinute(LocalDateTime.of(yearMonth.atDay(1), LocalTime.MIN));
+        long monthEnd = monthStart + yearMonth.lengthOfMonth() * MINUTES_PER_DAY - 1;
+        List<List<Integer>> days = new ArrayList<>();
+        for (int date = 0; date < yearMonth.lengthOfMonth(); date++) {
+            days.add(new ArrayList<>());
+        }
+        for (int i = timeline.firstEndingFrom(monthStart); i < timeline.size() && timeline.getStart(i) <= monthEnd;
+             i++) {
+            if (timeline.getEnd(i) < monthStart) {
+                continue;
+            }
+            int first = (int) ((Math.max(timeline.getStart(i), monthStart) - monthStart) / MINUTES_PER_DAY);
+            int last = (int) ((Math.min(timeline.getEnd(i), monthEnd) - monthStart) / MINUTES_PER_DAY);
+            for (int day = first; day <= last; day++) {
+                calendar.addEventID(timeline.getID(i), day + 1, timeline.getStart(i));
+                days.get(day).add(i);
+            }
+        }
+        for (int day = 0; day < days.size(); day++) {
+            calendar.setConflictClusters(day + 1, conflictClusters(timeline, days.get(day)));
+        }
+        return calendar;
+    }
+
+    /**
+     * @param positions the positions in the timeline of the events of a day, in order of start time
+     * @return the groups of conflicting events of the day, each event counted once and compared whole
+     */
+    private static List<List<UUID>> conflictClusters(EventTimeline timeline, List<Integer> positions) {
+        List<List<UUID>> clusters = new ArrayList<>();
+        if (positions.size() < 2) {
+            return clusters;
+        }
+        Map<UUID, Integer> unique = new LinkedHashMap<>();
+        for (int position : positions) {
+            unique.putIfAbsent(timeline.getID(position), position);
+        }
+        List<UUID> ids = new ArrayList<>(unique.keySet());
+        long[] starts = new long[ids.size()];
+        long[] ends = new long[ids.size()];
+        int i = 0;
+        for (int position : unique.values()) {
+            starts[i] = timeline.getStart(position);
+            ends[i++] = timeline.getEnd(position);
+        }
+        for (int[] cluster : ConflictSweep.clusters(starts, ends)) {
+            List<UUID> clusterIDs = new ArrayList<>();
+            for (int member : cluster) {
+                clusterIDs.add(ids.get(member));
+            }
+            clusters.add(Collections.unmodifiableList(clusterIDs));
+        }
+        return clusters;
+    }
+
+    /**
+     * keep the calendar up to date with every later change to the events of the event manager
+     */
+    public void subscribe() {
+        this.eventManager.getChangeBus().subscribe(this);
+    }
+
+    /**
+     * stop updating the calendar with changes to the events of the event manager
+     */
+    public void unsubscribe() {
+        this.eventManager.getChangeBus().unsubscribe(this);
+    }
+
+    /**
+     * update the dates of the stored months that the changed events (with their work sessions, or the events of a
+     * changed recursion) were or are on
+     * @param changes      the changes, at most one of each kind per event
+     * @param eventManager the eventManager that was changed
+     */
+    @Override
+    public void changed(List<EventChange> changes, EventManager eventManager) {
+        Map<LocalDate, Set<UUID>> affected = new TreeMap<>();
+        // removed events are published before they leave the time index
+        Set<Event> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (EventChange change : changes) {
+            if (change instanceof RecursionChanged) {
+                this.addAffected(affected, ((RecursionChanged) change).getBeforeInstances());
+                this.addAffected(affected, ((RecursionChanged) change).getAfterInstances());
+            } else if (change instanceof WorkSessionsChanged) {
+                this.addAffected(affected, ((WorkSessionsChanged) change).getBeforeSessions());
+                this.addAffected(affected, ((WorkSessionsChanged) change).getAfterSessions());
+            } else {
+                this.addAffected(affected, change.getEventID(), change.getBefore());
+                this.addAffected(affected, change.getEventID(), change.getAfter());
+                if (!(change instanceof EventTimeChanged)) {
+                    this.addAffected(affected, change.getEvent().getWorkSessions());
+                }
+                if (change instanceof EventRemoved) {
+                    removed.add(change.getEvent());
+                    removed.addAll(change.getEvent().getWorkSessions());
+                }
+            }
+        }
+        for (Map.Entry<LocalDate, Set<UUID>> entry : affected.entrySet()) {
+            this.refreshDate(entry.getKey(), entry.getValue(), removed);
+        }
+    }
+
+    /**
+     * add the dates of the stored months that the events are on
+     */
+    private void addAffected(Map<LocalDate, Set<UUID>> affected, List<Event> events) {
+        for (Event event : events) {
+            this.addAffected(affected, event.getID(), EventInterval.of(event));
+        }
+    }
+
+    /**
+     * add the dates of the stored months that an event with this interval is on
+     */
+    private void addAffected(Map<LocalDate, Set<UUID>> affected, UUID eventID, EventInterval interval) {
+        if (interval == null) {
+            return;
+        }
+        LocalDate first = interval.getStart().toLocalDate();
+        LocalDate last = interval.getEnd().toLocalDate();
+        for (YearMonth yearMonth = YearMonth.from(first); !yearMonth.isAfter(YearMonth.from(last));
+             yearMonth = yearMonth.plusMonths(1)) {
+            if (!this.calendarManager.isStored(yearMonth)) {
+                continue;
+            }
+            LocalDate date = first.isAfter(yearMonth.atDay(1)) ? first : yearMonth.atDay(1);
+            LocalDate end = last.isBefore(yearMonth.atEndOfMonth()) ? last : yearMonth.atEndOfMonth();
+            for (; !date.isAfter(end); date = date.plusDays(1)) {
+                affected.computeIfAbsent(date, key -> new HashSet<>()).add(eventID);
+            }
+        }
+    }
+
+    /**
+     * remove the events from the date, then add them again as they are now found with the time index of the event
+     * manager, except the removed events
+     */
+    private void refreshDate(LocalDate date, Set<UUID> eventIDs, Set<Event> removed) {
+        for (UUID eventID : eventIDs) {
+            this.calendarManager.removeFromCalendar(eventID, date.getYear(), date.getMonthValue(),
+                    date.getDayOfMonth());
+        }
+        for (Event event : this.eventManager.query(LocalDateTime.of(date, LocalTime.MIN),
+                LocalDateTime.of(date, LocalTime.MAX))) {
+            if (!eventIDs.contains(event.getID()) || removed.contains(event)) {
+                continue;
+            }
+            for (Event split : this.eventManager.splitByDay(event)) {
+                if (split.getEndTime().toLocalDate().equals(date)) {
+                    this.calendarManager.addToCalendar(event.getID(), date.getYear(), date.getMonthValue(),
+                            date.getDayOfMonth(), event.getStartMinute());
+                }
+            }
         }
     }
 
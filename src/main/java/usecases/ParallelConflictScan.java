@@ -0,0 +1,328 @@
+package usecases;
+
+import entities.Event;
+import usecases.events.EventManager;
+import usecases.events.EventTimeline;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel search for the groups of conflicting events in a range of time, for one or many users. The range is split
+ * by week across a ForkJoinPool, each week is swept on its own, and the groups found on either side of a split are
+ * merged where an event of one week conflicts with events of the next (e.g. a long event spanning both). Users are
+ * scanned as separate tasks in the same pool.
+ * <p>
+ * The groups are the same as those of <code>EventManager.findConflicts</code>, in the same order, whatever the
+ * parallelism of the pool. The number of events scanned and the time taken by the last scan are kept to report
+ * throughput.
+ *
+ * @see ConflictChecker#findConflicts(LocalDateTime, LocalDateTime, ForkJoinPool)
+ * @see ConflictChecker#findConflicts(Map, LocalDateTime, LocalDateTime, ForkJoinPool)
+ */
+public class ParallelConflictScan {
+    private static final long MINUTES_PER_WEEK = 7 * 24 * 60;
+    private static final int MIN_EVENTS_PER_TASK = 256;
+    private final ForkJoinPool pool;
+    private long eventsScanned;
+    private long elapsedNanos;
+
+    /**
+     * @param pool the ForkJoinPool the scans run in
+     */
+    public ParallelConflictScan(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * finds the groups of conflicting events, work sessions and repeated events of eventManager overlapping the
+     * closed window [from, to]
+     *
+     * @param eventManager the EventManager to scan
+     * @param from         start of the window
+     * @param to           end of the window
+     * @return list of groups of two or more conflicting event IDs, each ordered by start time, ordered by the start of
+     * their first event
+     */
+    public List<List<UUID>> scan(EventManager eventManager, LocalDateTime from, LocalDateTime to) {
+        long start = System.nanoTime();
+        UserScan scan = new UserScan(eventManager.getTimeline(), Event.toEpochMinute(from), Event.toEpochMinute(to));
+        this.run(List.of(scan));
+        List<List<UUID>> conflicts = scan.getConflicts();
+        this.record(scan.size(), start);
+        return conflicts;
+    }
+
+    /**
+     * finds the groups of conflicting events of every user overlapping the closed window [from, to]
+     *
+     * @param shards the EventManager of each user, e.g. from an <code>EventShardStore</code>
+     * @param from   start of the window
+     * @param to     end of the window
+     * @return the groups of conflicting event IDs of each user (as by <code>scan(EventManager, ...)</code>), by user ID
+     */
+    public Map<UUID, List<List<UUID>>> scan(Map<UUID, EventManager> shards, LocalDateTime from, LocalDateTime to) {
+        long start = System.nanoTime();
+        long fromMinute = Event.toEpochMinute(from);
+        long toMinute = Event.toEpochMinute(to);
+        // the timelines are built lazily by their EventManagers, so read them here, before they are shared
+        Map<UUID, UserScan> scans = new TreeMap<>();
+        for (Map.Entry<UUID, EventManager> shard : shards.entrySet()) {
+            scans.put(shard.getKey(), new UserScan(shard.getValue().getTimeline(), fromMinute, toMinute));
+        }
+        this.run(scans.values());
+
+        Map<UUID, List<List<UUID>>> conflicts = new LinkedHashMap<>();
+        long scanned = 0;
+        for (Map.Entry<UUID, UserScan> scan : scans.entrySet()) {
+            conflicts.put(scan.getKey(), scan.getValue().getConflicts());
+            scanned += scan.getValue().size();
+        }
+        this.record(scanned, start);
+        return conflicts;
+    }
+
+    /**
+     * runs the scans of every user in the pool
+     */
+    private void run(Collection<UserScan> scans) {
+        this.pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(scans);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * keeps the throughput figures of a scan
+     */
+    private void record(long scanned, long start) {
+        this.eventsScanned = scanned;
+        this.elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * @return number of events overlapping the window in the last scan, over all users
+     */
+    public long getEventsScanned() {
+        return this.eventsScanned;
+    }
+
+    /**
+     * @return time taken by the last scan in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return events scanned per second by the last scan
+     */
+    public double getThroughput() {
+        return this.elapsedNanos == 0 ? 0 : this.eventsScanned * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * @return the parallelism of the pool the scans run in
+     */
+    public int getParallelism() {
+        return this.pool.getParallelism();
+    }
+
+    /**
+     * Scan of the timeline of one user. Each week writes its events, sorted by start then end, into its own slice of
+     * order, and the groups are found as segments that are merged in order
+     */
+    private static class UserScan extends RecursiveTask<Segment> {
+        private static final long serialVersionUID = 1L;
+        private final EventTimeline timeline;
+        private final long fromMinute;
+        private final long toMinute;
+        private final int first;
+        private final int last;
+        private final int[] order;
+
+        private UserScan(EventTimeline timeline, long fromMinute, long toMinute) {
+            this.timeline = timeline;
+            this.fromMinute = fromMinute;
+            this.toMinute = toMinute;
+            this.first = toMinute < fromMinute ? 0 : timeline.firstEndingFrom(fromMinute);
+            this.last = toMinute < fromMinute ?
+                    this.first : Math.max(this.first, timeline.firstStartingFrom(toMinute + 1));
+            this.order = new int[this.last - this.first];
+        }
+
+        private int size() {
+            return this.order.length;
+        }
+
+        @Override
+        protected Segment compute() {
+            if (this.order.length == 0) {
+                return new Segment(0);
+            }
+            long weeks = (this.toMinute - this.fromMinute) / MINUTES_PER_WEEK + 1;
+            return new WeekScan(this, 0, weeks).compute();
+        }
+
+        /**
+         * @return position in the timeline of the first event starting in the given week of the window
+         */
+        private int weekStart(long week) {
+            if (week == 0) {
+                return this.first;
+            }
+            long minute = this.fromMinute + week * MINUTES_PER_WEEK;
+            return Math.min(this.last, this.timeline.firstStartingFrom(minute));
+        }
+
+        private List<List<UUID>> getConflicts() {
+            List<List<UUID>> conflicts = new ArrayList<>();
+            if (this.order.length == 0) {
+                return conflicts;
+            }
+            Segment segment = this.join();
+            for (int c = 0; c < segment.count; c++) {
+                int end = c + 1 < segment.count ? segment.begin[c + 1] : this.order.length;
+                List<UUID> cluster = new ArrayList<>();
+                for (int i = segment.begin[c]; i < end; i++) {
+                    if (this.order[i] >= 0) {
+                        cluster.add(this.timeline.getEvent(this.order[i]).getID());
+                    }
+                }
+                if (cluster.size() > 1) {
+                    conflicts.add(cluster);
+                }
+            }
+            return conflicts;
+        }
+    }
+
+    /**
+     * Scan of the weeks [firstWeek, lastWeek) of the window of a user, split in half until it covers a single week or
+     * few events
+     */
+    private static class WeekScan extends RecursiveTask<Segment> {
+        private static final long serialVersionUID = 1L;
+        private final UserScan user;
+        private final long firstWeek;
+        private final long lastWeek;
+
+        private WeekScan(UserScan user, long firstWeek, long lastWeek) {
+            this.user = user;
+            this.firstWeek = firstWeek;
+            this.lastWeek = lastWeek;
+        }
+
+        @Override
+        protected Segment compute() {
+            int start = this.user.weekStart(this.firstWeek);
+            int end = this.user.weekStart(this.lastWeek);
+            if (this.lastWeek - this.firstWeek == 1 || end - start <= MIN_EVENTS_PER_TASK) {
+                return this.sweep(start, end);
+            }
+            long middle = this.firstWeek + (this.lastWeek - this.firstWeek) / 2;
+            WeekScan left = new WeekScan(this.user, this.firstWeek, middle);
+            WeekScan right = new WeekScan(this.user, middle, this.lastWeek);
+            left.fork();
+            Segment rightSegment = right.compute();
+            return left.join().merge(rightSegment);
+        }
+
+        /**
+         * sorts the events at timeline positions [start, end) into order and sweeps them (as
+         * <code>ConflictSweep.clusters</code>), keeping every group, including single events, to merge with
+         */
+        private Segment sweep(int start, int end) {
+            EventTimeline timeline = this.user.timeline;
+            int[] order = this.user.order;
+            int offset = start - this.user.first;
+            int size = 0;
+            for (int p = start; p < end; p++) {
+                if (timeline.getEnd(p) >= this.user.fromMinute) {
+                    // insertion sort by end among the events with the same start
+                    int i = offset + size++;
+                    while (i > offset && timeline.getStart(order[i - 1]) == timeline.getStart(p) &&
+                            timeline.getEnd(order[i - 1]) > timeline.getEnd(p)) {
+                        order[i] = order[i - 1];
+                        i--;
+                    }
+                    order[i] = p;
+                }
+            }
+            Arrays.fill(order, offset + size, end - this.user.first, -1);
+
+            Segment segment = new Segment(size);
+            for (int i = offset; i < offset + size; i++) {
+                long eventStart = timeline.getStart(order[i]);
+                long eventEnd = timeline.getEnd(order[i]);
+                int c = segment.count - 1;
+                boolean conflicts = c >= 0 && (eventStart < segment.maxEnd[c] ||
+                        (eventStart == timeline.getStart(order[i - 1]) && eventEnd == timeline.getEnd(order[i - 1])));
+                if (conflicts) {
+                    segment.maxEnd[c] = Math.max(segment.maxEnd[c], eventEnd);
+                } else {
+                    segment.add(i, eventStart, eventEnd);
+                }
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * Groups found in a run of weeks: the position in order each group begins at, the start of its first event, and
+     * its latest end
+     */
+    private static class Segment {
+        private int[] begin;
+        private long[] firstStart;
+        private long[] maxEnd;
+        private int count;
+
+        private Segment(int capacity) {
+            this.begin = new int[Math.max(capacity, 1)];
+            this.firstStart = new long[this.begin.length];
+            this.maxEnd = new long[this.begin.length];
+        }
+
+        private void add(int begin, long firstStart, long maxEnd) {
+            if (this.count == this.begin.length) {
+                this.begin = Arrays.copyOf(this.begin, this.count * 2);
+                this.firstStart = Arrays.copyOf(this.firstStart, this.count * 2);
+                this.maxEnd = Arrays.copyOf(this.maxEnd, this.count * 2);
+            }
+            this.begin[this.count] = begin;
+            this.firstStart[this.count] = firstStart;
+            this.maxEnd[this.count] = maxEnd;
+            this.count++;
+        }
+
+        /**
+         * appends the groups of the following weeks. Their first groups join the last group here while they start
+         * before its latest end - events with the same start are never split between weeks, so this is the only way
+         * groups connect across a split
+         */
+        private Segment merge(Segment next) {
+            if (this.count == 0) {
+                return next;
+            }
+            Segment merged = new Segment(this.count + next.count);
+            for (int c = 0; c < this.count; c++) {
+                merged.add(this.begin[c], this.firstStart[c], this.maxEnd[c]);
+            }
+            int c = 0;
+            while (c < next.count && next.firstStart[c] < merged.maxEnd[merged.count - 1]) {
+                merged.maxEnd[merged.count - 1] = Math.max(merged.maxEnd[merged.count - 1], next.maxEnd[c]);
+                c++;
+            }
+            for (; c < next.count; c++) {
+                merged.add(next.begin[c], next.firstStart[c], next.maxEnd[c]);
+            }
+            return merged;
+        }
+    }
+}
@@ -2,77 +2,100 @@ package usecases.calendar;
 
 import entities.OurCalendar;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Use case of OurCalendar class that will be used for various calendar related classes
+ * <p>
+ * Months are stored in a map by YearMonth and created the first time they are used, so any month can be looked up or
+ * added to. The months within hotWindow months of the current month are always kept. If a month loader is set (see
+ * <code>EventCalendarCollaborator</code>), the least recently used of the other months are dropped once more than
+ * capacity months are stored, and loaded again the next time they are used. Without a loader every month is kept, as
+ * its events could not be found again.
+ * <p>
+ * The current date is read from a clock, so when the date changes (e.g. a session left open past midnight) the
+ * current date, the hot window and the past and future calendars move with it the next time they are used.
  * @author Seo Won Yi
  * @author Shahzada Muhammad Shameel Farooq
  * @see OurCalendar
  */
 public class CalendarManager {
-    private final int currentMonth; // current month
-    private final int currentDate; // current date
-    private final int currentYear; // current year
-    private final OurCalendar currentCalendar; // calendar object for the current month
-    private final List<OurCalendar> futureCalendar; // List of calendar object for the next three months
-    private final List<OurCalendar> pastCalendar; //  List of calendar object for the past three months
+    private static final int DEFAULT_HOT_WINDOW = 3;
+    private static final int DEFAULT_CAPACITY = 24;
+    private final Clock clock; // clock the current date is read from
+    private LocalDate today; // current date
+    private final int hotWindow; // number of past and of future months always kept
+    private final int capacity; // number of months kept before the least recently used are dropped
+    private final Map<YearMonth, OurCalendar> months = new LinkedHashMap<>(16, 0.75f, true);
+    private Function<YearMonth, OurCalendar> monthLoader;
 
     /**
-     *  Initialize the usecases.calendar.CalendarManager
+     *  Initialize the usecases.calendar.CalendarManager, keeping the three past and three future months
      */
     public CalendarManager(){
-        Date today = new Date();
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(today);
-        int month = cal.get(Calendar.MONTH);
-        int year = cal.get(Calendar.YEAR);
-        int date = cal.get(Calendar.DAY_OF_MONTH);
-        this.currentMonth = month + 1;
-        this.currentDate = date;
-        this.currentYear = year;
-        // Create a calendar of the current month
-        this.currentCalendar = new OurCalendar(this.currentYear, this.currentMonth);
-        this.futureCalendar = createCalendarLists(cal, 1);
-        cal.setTime(today);
-        this.pastCalendar = createCalendarLists(cal, -1);
-    }
-
-    /**
-     * helper method for constructing list of OurCalendars
-     * interval determines the difference between the current and the next month
-     * ( if interval = 1, the next three month will be put in the list
-     * if interval = -1, the past three month will be put in the list)
-     * @param cal Calendar object with the current date info
-     * @param interval The difference between the current and the next month
-     * @return list of OurCalendar
-     */
-    private List<OurCalendar> createCalendarLists(Calendar cal, int interval) {
-
-        cal.add(Calendar.MONTH, interval);
-        int firstNextMonth = cal.get(Calendar.MONTH) + 1;
-        int firstNextYear = cal.get(Calendar.YEAR);
-
-        cal.add(Calendar.MONTH, interval);
-        int secondNextMonth = cal.get(Calendar.MONTH) + 1;
-        int secondNextYear = cal.get(Calendar.YEAR);
-
-        cal.add(Calendar.MONTH, interval);
-        int thirdNextMonth = cal.get(Calendar.MONTH) + 1;
-        int thirdNextYear = cal.get(Calendar.YEAR);
-
-        // Create a calendar of the future 3 months calendar
-        OurCalendar firstNext = new OurCalendar(firstNextYear, firstNextMonth);
-        OurCalendar secondNext = new OurCalendar(secondNextYear, secondNextMonth);
-        OurCalendar thirdNext = new OurCalendar(thirdNextYear, thirdNextMonth);
-
-        return new ArrayList<>(){
-            {
-                add(firstNext);
-                add(secondNext);
-                add(thirdNext);
-            }};
+        this(DEFAULT_HOT_WINDOW, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialize the usecases.calendar.CalendarManager
+     * @param hotWindow number of past and of future months around the current month that are always kept
+     * @param capacity number of months kept before the least recently used months outside the hot window are dropped
+     */
+    public CalendarManager(int hotWindow, int capacity){
+        this(hotWindow, capacity, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Initialize the usecases.calendar.CalendarManager
+     * @param hotWindow number of past and of future months around the current month that are always kept
+     * @param capacity number of months kept before the least recently used months outside the hot window are dropped
+     * @param clock clock the current date is read from
+     */
+    public CalendarManager(int hotWindow, int capacity, Clock clock){
+        this.clock = clock;
+        this.today = LocalDate.now(clock);
+        this.hotWindow = hotWindow;
+        this.capacity = Math.max(capacity, 2 * hotWindow + 2);
+        // Create the calendars of the current month and the months around it
+        YearMonth current = YearMonth.from(this.today);
+        for (int i = -hotWindow; i <= hotWindow; i++){
+            this.months.put(current.plusMonths(i), new OurCalendar(current.plusMonths(i).getYear(),
+                    current.plusMonths(i).getMonthValue()));
         }
+    }
+
+    /**
+     * move the current date to the date of the clock if it changed, and if the month changed, move the hot window
+     * with it: the months newly in it are created (or loaded), and the months that left it may be dropped
+     */
+    private void roll(){
+        LocalDate now = LocalDate.now(this.clock);
+        if (now.equals(this.today)){
+            return;
+        }
+        boolean newMonth = !YearMonth.from(now).equals(YearMonth.from(this.today));
+        this.today = now;
+        if (newMonth){
+            YearMonth current = YearMonth.from(now);
+            for (int i = -this.hotWindow; i <= this.hotWindow; i++){
+                this.getCalendar(current.plusMonths(i));
+            }
+            this.evict();
+        }
+    }
+
+    /**
+     * set the loader used to create months that are not stored, which allows months outside the hot window to be
+     * dropped when more than capacity months are stored
+     * @param monthLoader function from a month to its calendar, with all its events added
+     */
+    public void setMonthLoader(Function<YearMonth, OurCalendar> monthLoader){
+        this.monthLoader = monthLoader;
+    }
 
     /**
      * adjust the month according to the year
@@ -83,41 +106,62 @@ public class CalendarManager {
      * @return adjusted month
      */
     public int adjustMonth(int year, int month) {
-        if (year > this.currentYear){
-            month = month + 12 * (year - this.currentYear);
+        int currentYear = this.getCurrentYear();
+        if (year > currentYear){
+            month = month + 12 * (year - currentYear);
         }
-        else if (year < this.currentYear){
-            month = month - 12 * (this.currentYear - year);
+        else if (year < currentYear){
+            month = month - 12 * (currentYear - year);
         }
         return month;
     }
 
     /**
-     * add eventID to the calendar with given year, month and date
+     * add eventID to the calendar with given year, month and date, after the events added with a start time. The month
+     * is created if it is not stored
      * @param eventID event ID to add in the calendar
      * @param year year of the event
      * @param month month of the event
      * @param date date of the event
      */
     public void addToCalendar(UUID eventID, int year, int month, int date){
-        // Gets the month as an int from event start time (month)
-        int adjustedMonth = adjustMonth(year, month);
-        if (adjustedMonth == this.currentMonth){
-            this.currentCalendar.addEventID(eventID, date);
-        }
-        for (int i = 0; i < 3; i++){
-            if (adjustedMonth == this.currentMonth + i + 1){
-                this.futureCalendar.get(i).addEventID(eventID, date);
-            }
-        }
+        this.addToCalendar(eventID, year, month, date, Long.MAX_VALUE);
+    }
 
-        for (int j = 0; j < 3; j++){
-            if (adjustedMonth == this.currentMonth - j - 1){
-                this.pastCalendar.get(j).addEventID(eventID, date);
-            }
+    /**
+     * add eventID to the calendar with given year, month and date, sorted among the events of the date by its start
+     * time. The month is created if it is not stored
+     * @param eventID event ID to add in the calendar
+     * @param year year of the event
+     * @param month month of the event
+     * @param date date of the event
+     * @param startMinute start time of the event in epoch minutes (the end time for deadlines)
+     */
+    public void addToCalendar(UUID eventID, int year, int month, int date, long startMinute){
+        YearMonth yearMonth = YearMonth.of(year, month);
+        boolean loaded = !this.months.containsKey(yearMonth) && this.monthLoader != null;
+        OurCalendar calendar = this.getCalendar(yearMonth);
+        List<UUID> day = calendar.getCalendarMap().get(date);
+        // a month just loaded already has its events
+        if (!(loaded && day != null && day.contains(eventID))){
+            calendar.addEventID(eventID, date, startMinute);
         }
     }
 
+    /**
+     * remove eventID from the calendar with given year, month and date, if the month is stored (a month that is not
+     * stored is created, or loaded, without it)
+     * @param eventID event ID to remove from the calendar
+     * @param year year of the event
+     * @param month month of the event
+     * @param date date of the event
+     * @return whether the event ID was removed
+     */
+    public boolean removeFromCalendar(UUID eventID, int year, int month, int date){
+        OurCalendar calendar = this.months.get(YearMonth.of(year, month));
+        return calendar != null && calendar.removeEventID(eventID, date);
+    }
+
     /**
      * Get all the Events' ID information from the specific date of the calendar
      * @param year year of the calendar
@@ -126,22 +170,66 @@ public class CalendarManager {
      * @return the list of ID's in the specific date
      */
     public List<UUID> getEventID(int year, int month, int date) {
-        int adjustedMonth = adjustMonth(year, month);
-        List<UUID> listID = new ArrayList<>();
-        if (adjustedMonth == this.currentMonth) {
-            listID.addAll(this.currentCalendar.getCalendarMap().get(date));
-        }
-        for (int i = 0; i < 3; i++){
-            if (adjustedMonth == this.currentMonth + i + 1){
-                listID.addAll(this.futureCalendar.get(i).getCalendarMap().get(date));
+        List<UUID> listID = this.getCalendar(year, month).getCalendarMap().get(date);
+        return listID == null ? new ArrayList<>() : new ArrayList<>(listID);
+    }
+
+    /**
+     * get the calendar of any month, creating (or loading) it if it is not stored
+     * @param year year of the calendar
+     * @param month month of the calendar
+     * @return OurCalendar of the month
+     */
+    public OurCalendar getCalendar(int year, int month){
+        return this.getCalendar(YearMonth.of(year, month));
+    }
+
+    /**
+     * get the calendar of any month, creating (or loading) it if it is not stored
+     * @param yearMonth month of the calendar
+     * @return OurCalendar of the month
+     */
+    public OurCalendar getCalendar(YearMonth yearMonth){
+        OurCalendar calendar = this.months.get(yearMonth);
+        if (calendar == null){
+            if (this.monthLoader != null){
+                calendar = this.monthLoader.apply(yearMonth);
+            }
+            else {
+                calendar = new OurCalendar(yearMonth.getYear(), yearMonth.getMonthValue());
             }
+            this.months.put(yearMonth, calendar);
+            this.evict();
+        }
+        return calendar;
+    }
+
+    /**
+     * check if the calendar of a month is stored
+     * @param yearMonth month of the calendar
+     * @return whether the calendar of the month is stored
+     */
+    public boolean isStored(YearMonth yearMonth){
+        return this.months.containsKey(yearMonth);
+    }
+
+    /**
+     * drop the least recently used months outside the hot window while more than capacity months are stored, if they
+     * can be loaded again
+     */
+    private void evict(){
+        if (this.monthLoader == null){
+            return;
         }
-        for (int j = 0; j < 3; j++){
-            if (adjustedMonth == this.currentMonth - j - 1){
-                listID.addAll(this.pastCalendar.get(j).getCalendarMap().get(date));
+        YearMonth current = YearMonth.from(this.today);
+        Iterator<YearMonth> leastRecent = this.months.keySet().iterator();
+        while (this.months.size() > this.capacity && leastRecent.hasNext()){
+            YearMonth yearMonth = leastRecent.next();
+            if (yearMonth.isBefore(current.minusMonths(this.hotWindow)) ||
+                    yearMonth.isAfter(current.plusMonths(this.hotWindow))){
+                leastRecent.remove();
             }
         }
-        return listID;
     }
 
     /**
@@ -149,7 +237,8 @@ public class CalendarManager {
      * @return currentDate
      */
     public int getCurrentDate(){
-        return this.currentDate;
+        this.roll();
+        return this.today.getDayOfMonth();
     }
 
     /**
@@ -157,7 +246,8 @@ public class CalendarManager {
      * @return currentMonth
      */
     public int getCurrentMonth(){
-        return this.currentMonth;
+        this.roll();
+        return this.today.getMonthValue();
     }
 
     /**
@@ -165,22 +255,57 @@ public class CalendarManager {
      * @return currentYear
      */
     public int getCurrentYear(){
-        return this.currentYear;
+        this.roll();
+        return this.today.getYear();
+    }
+
+    /**
+     * getter for the first date of the hot window (the first day of the earliest past month always kept)
+     * @return the first date of the hot window
+     */
+    public LocalDate getFirstDate(){
+        this.roll();
+        return this.today.withDayOfMonth(1).minusMonths(this.hotWindow);
+    }
+
+    /**
+     * getter for the last date of the hot window (the last day of the latest future month always kept)
+     * @return the last date of the hot window
+     */
+    public LocalDate getLastDate(){
+        this.roll();
+        return this.today.withDayOfMonth(1).plusMonths(this.hotWindow + 1).minusDays(1);
     }
 
     public OurCalendar getCurrentCalendar() {
-        return this.currentCalendar;
+        this.roll();
+        return this.getCalendar(YearMonth.from(this.today));
     }
 
+    /**
+     * @return the calendars of the future months in the hot window, the next month first
+     */
     public List<OurCalendar> getFutureCalendar(){
-        return this.futureCalendar;
+        this.roll();
+        List<OurCalendar> futureCalendar = new ArrayList<>();
+        YearMonth current = YearMonth.from(this.today);
+        for (int i = 1; i <= this.hotWindow; i++){
+            futureCalendar.add(this.getCalendar(current.plusMonths(i)));
+        }
+        return futureCalendar;
     }
 
+    /**
+     * @return the calendars of the past months in the hot window, the previous month first
+     */
     public List<OurCalendar> getPastCalendar(){
-        return this.pastCalendar;
+        this.roll();
+        List<OurCalendar> pastCalendar = new ArrayList<>();
+        YearMonth current = YearMonth.from(this.today);
+        for (int i = 1; i <= this.hotWindow; i++){
+            pastCalendar.add(this.getCalendar(current.minusMonths(i)));
+        }
+        return pastCalendar;
     }
 
 }
-
-
-
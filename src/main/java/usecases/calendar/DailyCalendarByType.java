@@ -39,20 +39,9 @@ public class DailyCalendarByType extends CalendarByType {
      * @return map of the daily calendar
      */
     public Map<Integer, List<UUID>> getCalendar(CalendarManager cm, int year, int month, int date) {
-        int adjustedMonth =  adjustMonth(cm.getCurrentYear(), year, month);
         Map<Integer, List<UUID>> result = new HashMap<>();
-        if (adjustedMonth == cm.getCurrentMonth()){
-            OurCalendar currentCal = cm.getCurrentCalendar();
-            result.put(date, currentCal.getCalendarMap().get(date));
-        }
-        else if (adjustedMonth > cm.getCurrentMonth() && adjustedMonth - cm.getCurrentMonth() <= 3){
-            OurCalendar futureCal = cm.getFutureCalendar().get(adjustedMonth - cm.getCurrentMonth() -1);
-            result.put(date, futureCal.getCalendarMap().get(date));
-        }
-        else if (adjustedMonth < cm.getCurrentMonth() && cm.getCurrentMonth() - adjustedMonth <= 3){
-            OurCalendar pastCal = cm.getPastCalendar().get(cm.getCurrentMonth() - adjustedMonth - 1);
-            result.put(date, pastCal.getCalendarMap().get(date));
-        }
+        OurCalendar calendar = cm.getCalendar(year, month);
+        result.put(date, calendar.getCalendarMap().get(date));
         return result;
     }
 }
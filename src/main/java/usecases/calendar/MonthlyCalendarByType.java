@@ -34,17 +34,6 @@ public class MonthlyCalendarByType extends CalendarByType {
      * @return a map of a monthly calendar
      */
     public Map<Integer, List<UUID>> getCalendar(CalendarManager cm, int year, int month){
-        int adjustedMonth = adjustMonth(cm.getCurrentYear(), year, month);
-        if (adjustedMonth == cm.getCurrentMonth()){
-            return cm.getCurrentCalendar().getCalendarMap();
-        }
-        else if (adjustedMonth > cm.getCurrentMonth() && adjustedMonth - cm.getCurrentMonth() <= 3){
-            OurCalendar futureCalendar = cm.getFutureCalendar().get(adjustedMonth - cm.getCurrentMonth() - 1);
-            return futureCalendar.getCalendarMap();
-        }
-        else {
-            OurCalendar pastCalendar = cm.getPastCalendar().get((cm.getCurrentMonth() - adjustedMonth) - 1);
-            return pastCalendar.getCalendarMap();
-        }
+        return cm.getCalendar(year, month).getCalendarMap();
     }
 }
@@ -0,0 +1,84 @@
+package usecases.events;
+
+import entities.Event;
+import entities.recursions.RecursiveEvent;
+import helpers.IsOverlapped;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Answers which events would conflict with a proposed change before it is made, so a window can show the conflicts
+ * of the times being picked as they change. A probe only queries the time index of the EventManager for the events
+ * around the proposed times - nothing is modified, and no calendar or conflict registry is built.
+ * <p>
+ * Two events conflict when <code>IsOverlapped.overlaps</code> is true for their times, as in
+ * <code>ConflictRegistry</code>.
+ *
+ * @see ConflictRegistry
+ */
+public class ConflictProbe {
+    private final EventManager eventManager;
+
+    /**
+     * @param eventManager the EventManager the proposed changes would be made in
+     */
+    public ConflictProbe(EventManager eventManager) {
+        this.eventManager = eventManager;
+    }
+
+    /**
+     * @param eventID ID of the event that would change (or of a new event), which is not reported
+     * @param start   proposed start time, or null for an event with no start
+     * @param end     proposed end time
+     * @return IDs of the events, work sessions and repeated events that would conflict with the event, in order of
+     * start time
+     */
+    public Set<UUID> probe(UUID eventID, LocalDateTime start, LocalDateTime end) {
+        Set<UUID> conflicts = new LinkedHashSet<>();
+        this.collect(start, end, other -> !other.getID().equals(eventID), conflicts);
+        return conflicts;
+    }
+
+    /**
+     * @param recursion a proposed recursion, with its cycle and repetition pattern set. Its cycle events and any
+     *                  events already repeated under its ID are not reported
+     * @return IDs of the events, work sessions and repeated events that would conflict with the events of the first
+     * cycle or any repetition of them
+     */
+    public Set<UUID> probe(RecursiveEvent recursion) {
+        Set<UUID> own = new HashSet<>();
+        for (Event event : recursion.getEventsInOneCycle()) {
+            own.add(event.getID());
+        }
+        // the last event of the cycle only marks when the next cycle starts
+        List<Event> repetitions = new ArrayList<>(recursion.getEventsInOneCycle().subList(0,
+                recursion.getCycleLength()));
+        repetitions.addAll(recursion.listOfEventsInCycles(recursion.getEventsInOneCycle()));
+        Set<UUID> conflicts = new LinkedHashSet<>();
+        for (Event repetition : repetitions) {
+            this.collect(repetition.getStartTime(), repetition.getEndTime(), other -> !own.contains(other.getID()) &&
+                    !recursion.getId().equals(other.getRecursiveId()), conflicts);
+        }
+        return conflicts;
+    }
+
+    /**
+     * adds the IDs of the indexed events accepted by include that overlap the period [start, end] to conflicts
+     */
+    private void collect(LocalDateTime start, LocalDateTime end, Predicate<Event> include, Set<UUID> conflicts) {
+        LocalDateTime from = start == null ? end : start;
+        if (from.isAfter(end)) {
+            return;
+        }
+        long startMinute = Event.toEpochMinute(from);
+        long endMinute = Event.toEpochMinute(end);
+        for (Event other : this.eventManager.query(from, end)) {
+            if (IsOverlapped.overlaps(startMinute, endMinute, other.getStartMinute(), other.getEndMinute()) &&
+                    include.test(other)) {
+                conflicts.add(other.getID());
+            }
+        }
+    }
+}
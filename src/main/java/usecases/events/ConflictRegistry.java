@@ -0,0 +1,190 @@
+package usecases.events;
+
+import entities.Event;
+import helpers.IsOverlapped;
+import interfaces.EventListObserver;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Materialized set of the conflicts between the events, work sessions and repeated events of an EventManager, updated
+ * by EventManager whenever an event is indexed, removed, or its time changes (like <code>EventDaySplitView</code>).
+ * An update only recomputes the conflicts of the changed event, by querying the time index for the events around it.
+ * <p>
+ * Two events conflict when <code>IsOverlapped.overlaps</code> is true for their times. A conflict is on the days its
+ * overlap spans, so which events conflict on a day, and whether there is any conflict in a month, are map lookups.
+ *
+ * @see EventManager#getConflictRegistry()
+ */
+public class ConflictRegistry implements EventListObserver {
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private final EventManager eventManager;
+    private final Map<UUID, Map<UUID, long[]>> conflicts = new HashMap<>();
+    private final Map<LocalDate, Map<UUID, Integer>> days = new HashMap<>();
+    private final Map<YearMonth, Integer> months = new HashMap<>();
+
+    /**
+     * finds every conflict between the events currently indexed by eventManager
+     *
+     * @param eventManager the EventManager whose conflicts are registered
+     */
+    public ConflictRegistry(EventManager eventManager) {
+        this.eventManager = eventManager;
+        for (Event event : eventManager.getAllEventsOrdered()) {
+            this.attach(event);
+        }
+    }
+
+    /**
+     * recomputes the conflicts of the changed event, or removes them
+     *
+     * @param addRemoveChange "add", "remove" or "change"
+     * @param changed         the event that was indexed, removed, or whose time changed
+     * @param eventManager    the eventManager that was updated
+     */
+    @Override
+    public void update(String addRemoveChange, Event changed, EventManager eventManager) {
+        this.detach(changed.getID());
+        if (!addRemoveChange.equalsIgnoreCase("remove")) {
+            this.attach(changed);
+        }
+    }
+
+    /**
+     * removes every conflict
+     */
+    public void clear() {
+        this.conflicts.clear();
+        this.days.clear();
+        this.months.clear();
+    }
+
+    /**
+     * @param eventID UUID of an event
+     * @return unmodifiable set of the UUIDs of the events that conflict with it (empty if there are none)
+     */
+    public Set<UUID> getConflicts(UUID eventID) {
+        Map<UUID, long[]> eventConflicts = this.conflicts.get(eventID);
+        if (eventConflicts == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(eventConflicts.keySet());
+    }
+
+    /**
+     * @param eventID UUID of an event
+     * @return whether any event conflicts with it
+     */
+    public boolean hasConflict(UUID eventID) {
+        return this.conflicts.containsKey(eventID);
+    }
+
+    /**
+     * @param date a LocalDate
+     * @return unmodifiable set of the UUIDs of the events that have a conflict on this date
+     */
+    public Set<UUID> getConflicts(LocalDate date) {
+        Map<UUID, Integer> day = this.days.get(date);
+        if (day == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(day.keySet());
+    }
+
+    /**
+     * @param date a LocalDate
+     * @return whether there is any conflict on this date
+     */
+    public boolean hasConflicts(LocalDate date) {
+        return this.days.containsKey(date);
+    }
+
+    /**
+     * @param month a YearMonth
+     * @return whether there is any conflict on any day of this month
+     */
+    public boolean hasConflicts(YearMonth month) {
+        return this.months.containsKey(month);
+    }
+
+    /**
+     * registers the conflicts of an indexed event with the events around it in the time index
+     */
+    private void attach(Event event) {
+        long start = event.getStartMinute();
+        long end = event.getEndMinute();
+        LocalDateTime from = event.hasStart() ? event.getStartTime() : event.getEndTime();
+        for (Event other : this.eventManager.query(from, event.getEndTime())) {
+            if (!other.getID().equals(event.getID()) &&
+                    IsOverlapped.overlaps(start, end, other.getStartMinute(), other.getEndMinute())) {
+                this.link(event.getID(), other.getID(), Math.max(start, other.getStartMinute()),
+                        Math.min(end, other.getEndMinute()));
+            }
+        }
+    }
+
+    /**
+     * registers the conflict between two events on the days their overlap [from, to] spans
+     */
+    private void link(UUID first, UUID second, long from, long to) {
+        long lastMinute = to > from ? to - 1 : to;
+        long[] span = new long[]{Math.floorDiv(from, MINUTES_PER_DAY), Math.floorDiv(lastMinute, MINUTES_PER_DAY)};
+        Map<UUID, long[]> firstConflicts = this.conflicts.computeIfAbsent(first, id -> new LinkedHashMap<>());
+        if (firstConflicts.containsKey(second)) {
+            return;
+        }
+        firstConflicts.put(second, span);
+        this.conflicts.computeIfAbsent(second, id -> new LinkedHashMap<>()).put(first, span);
+        this.count(first, span, 1);
+        this.count(second, span, 1);
+    }
+
+    /**
+     * removes every conflict of an event
+     */
+    private void detach(UUID eventID) {
+        Map<UUID, long[]> eventConflicts = this.conflicts.remove(eventID);
+        if (eventConflicts == null) {
+            return;
+        }
+        for (Map.Entry<UUID, long[]> conflict : eventConflicts.entrySet()) {
+            UUID other = conflict.getKey();
+            Map<UUID, long[]> otherConflicts = this.conflicts.get(other);
+            otherConflicts.remove(eventID);
+            if (otherConflicts.isEmpty()) {
+                this.conflicts.remove(other);
+            }
+            this.count(eventID, conflict.getValue(), -1);
+            this.count(other, conflict.getValue(), -1);
+        }
+    }
+
+    /**
+     * adds difference to the number of conflicts of an event on each day of span, keeping the days and months with
+     * conflicts up to date
+     */
+    private void count(UUID eventID, long[] span, int difference) {
+        for (long epochDay = span[0]; epochDay <= span[1]; epochDay++) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            Map<UUID, Integer> day = this.days.computeIfAbsent(date, newDate -> new LinkedHashMap<>());
+            int count = day.getOrDefault(eventID, 0) + difference;
+            if (count > 0) {
+                if (day.put(eventID, count) == null) {
+                    this.months.merge(YearMonth.from(date), 1, Integer::sum);
+                }
+            } else {
+                day.remove(eventID);
+                if (day.isEmpty()) {
+                    this.days.remove(date);
+                }
+                YearMonth month = YearMonth.from(date);
+                if (this.months.merge(month, -1, Integer::sum) == 0) {
+                    this.months.remove(month);
+                }
+            }
+        }
+    }
+}
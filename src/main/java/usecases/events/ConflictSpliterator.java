@@ -0,0 +1,125 @@
+package usecases.events;
+
+import helpers.ConflictSweep;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Lazy sweep-line search for the clusters of conflicting events in a window of time. The events overlapping the window
+ * are read in order of start time from an <code>EventCursor</code>, and a cluster is handed on as soon as the first
+ * event after it starts, so a caller that stops early (e.g. with <code>findFirst</code> or <code>limit</code>) never
+ * reads the rest of the window. Works for any window - events are compared whole, not split by day.
+ * <p>
+ * Clusters are as in <code>ConflictSweep.clusters</code>: events with the same start are swept shortest first.
+ *
+ * @see ConflictSweep#clusters(long[], long[])
+ * @see EventManager#findConflicts(LocalDateTime, LocalDateTime)
+ */
+public class ConflictSpliterator extends Spliterators.AbstractSpliterator<List<UUID>> {
+    private final EventCursor cursor;
+    private boolean onEvent;
+
+    private final List<UUID> groupIDs = new ArrayList<>();
+    private long[] groupEnds = new long[4];
+    private long groupStart;
+    private int groupPosition;
+
+    private List<UUID> cluster = new ArrayList<>();
+    private long maxEnd;
+    private long lastStart;
+    private long lastEnd;
+
+    /**
+     * constructs a spliterator over the conflicts between the events of eventManager that overlap the closed window
+     * [from, to]
+     *
+     * @param eventManager the EventManager whose events are searched
+     * @param from         LocalDateTime start of the window
+     * @param to           LocalDateTime end of the window
+     */
+    public ConflictSpliterator(EventManager eventManager, LocalDateTime from, LocalDateTime to) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.cursor = eventManager.getCursor();
+        this.cursor.reset(from, to);
+        this.onEvent = this.cursor.next();
+    }
+
+    /**
+     * sweeps until the next cluster of two or more conflicting events closes
+     *
+     * @param action receives the IDs of the events in the cluster, ordered by start time
+     * @return false if there are no more clusters
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super List<UUID>> action) {
+        while (this.groupPosition < this.groupIDs.size() || this.readGroup()) {
+            long start = this.groupStart;
+            long end = this.groupEnds[this.groupPosition];
+            UUID id = this.groupIDs.get(this.groupPosition++);
+            boolean conflicts = !this.cluster.isEmpty() &&
+                    ConflictSweep.joinsCluster(start, end, this.maxEnd, this.lastStart, this.lastEnd);
+            List<UUID> closed = null;
+            if (!conflicts) {
+                if (this.cluster.size() > 1) {
+                    closed = this.cluster;
+                }
+                this.cluster = new ArrayList<>();
+                this.maxEnd = Long.MIN_VALUE;
+            }
+            this.cluster.add(id);
+            this.maxEnd = Math.max(this.maxEnd, end);
+            this.lastStart = start;
+            this.lastEnd = end;
+            if (closed != null) {
+                action.accept(closed);
+                return true;
+            }
+        }
+        List<UUID> last = this.cluster;
+        this.cluster = new ArrayList<>();
+        if (last.size() > 1) {
+            action.accept(last);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * reads the events with the next start time from the cursor, sorted by end
+     *
+     * @return false if there are no more events in the window
+     */
+    private boolean readGroup() {
+        this.groupIDs.clear();
+        this.groupPosition = 0;
+        if (!this.onEvent) {
+            return false;
+        }
+        this.groupStart = this.cursor.getStartMinute();
+        do {
+            if (this.groupIDs.size() == this.groupEnds.length) {
+                this.groupEnds = Arrays.copyOf(this.groupEnds, this.groupEnds.length * 2);
+            }
+            long end = this.cursor.getEndMinute();
+            int i = this.groupIDs.size();
+            // insertion sort by end - events rarely share a start
+            this.groupIDs.add(null);
+            while (i > 0 && this.groupEnds[i - 1] > end) {
+                this.groupEnds[i] = this.groupEnds[i - 1];
+                this.groupIDs.set(i, this.groupIDs.get(i - 1));
+                i--;
+            }
+            this.groupEnds[i] = end;
+            this.groupIDs.set(i, this.cursor.getID());
+            this.onEvent = this.cursor.next();
+        } while (this.onEvent && this.cursor.getStartMinute() == this.groupStart);
+        return true;
+    }
+}
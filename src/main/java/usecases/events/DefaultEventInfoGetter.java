@@ -1,7 +1,6 @@
 package usecases.events;
 
 import entities.Event;
-import entities.recursions.RecursiveEvent;
 import interfaces.EventInfoGetter;
 
 import java.time.LocalDate;
@@ -40,17 +39,20 @@ public class DefaultEventInfoGetter implements EventInfoGetter {
     }
 
     /**
-     * returns all the values in <code>this.eventMap</code>
+     * returns all the values in <code>this.eventMap</code> and all repeated events, in time order
      *
      * @return list of events (without work sessions, not split)
      */
     @Override
     public List<Event> getAllEvents() {
-        List<Event> allEvents = new ArrayList<>(eventManager.getEventMap().values());
-        for (RecursiveEvent recursiveEvent : eventManager.getRepeatedEventManager().getRecursiveEventMap().values()) {
-            allEvents.addAll(eventManager.recursiveEventList(recursiveEvent));
+        List<Event> allEvents = new ArrayList<>();
+        for (Event event : eventManager.getAllEventsOrdered()) {
+            if (eventManager.getEventMap().containsKey(event.getID()) ||
+                    eventManager.getRepeatedEventManager().getThisEventFromRecursion(event.getID()) != null) {
+                allEvents.add(event);
+            }
         }
-        return eventManager.eventHelper.timeOrder(allEvents);
+        return allEvents;
     }
 
     /**
@@ -71,7 +73,7 @@ public class DefaultEventInfoGetter implements EventInfoGetter {
      * @param name  String of new name
      */
     public void setName(UUID event, String name) {
-        eventManager.get(event).setName(name);
+        eventManager.edit(event, e -> e.setName(name));
     }
 
     /**
@@ -91,7 +93,7 @@ public class DefaultEventInfoGetter implements EventInfoGetter {
      * @param describe String the new description
      */
     public void setDescription(UUID event, String describe) {
-        eventManager.get(event).setDescription(describe);
+        eventManager.edit(event, e -> e.setDescription(describe));
     }
 
     /**
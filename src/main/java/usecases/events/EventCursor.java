@@ -0,0 +1,140 @@
+package usecases.events;
+
+import entities.Event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Reusable read-only cursor over the events, work sessions and repeated events of an EventManager, visiting them in
+ * order of start time. The cursor reads the cached <code>EventManager.getTimeline()</code> and exposes the fields of
+ * the event it is on directly, so moving it and reading from it allocate nothing - create one cursor and
+ * <code>reset</code> it for every pass (e.g. once per day or month being rendered).
+ * <p>
+ * A cursor sees the events as they were when it was last reset.
+ *
+ * @see EventManager#getCursor()
+ */
+public class EventCursor {
+    private final EventManager eventManager;
+    private EventTimeline timeline;
+    private long from;
+    private long to;
+    private int position;
+    private Event current;
+
+    /**
+     * constructs a cursor over the events of eventManager, reset to visit every event
+     *
+     * @param eventManager the EventManager whose events are visited
+     */
+    public EventCursor(EventManager eventManager) {
+        this.eventManager = eventManager;
+        this.reset();
+    }
+
+    /**
+     * resets the cursor to before the first event
+     */
+    public void reset() {
+        this.reset(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * resets the cursor to before the first event that overlaps the closed window [from, to]
+     *
+     * @param from LocalDateTime start of the window
+     * @param to   LocalDateTime end of the window
+     * @see EventManager#query(LocalDateTime, LocalDateTime)
+     */
+    public void reset(LocalDateTime from, LocalDateTime to) {
+        this.reset(Event.toEpochMinute(from), Event.toEpochMinute(to));
+    }
+
+    /**
+     * resets the cursor to before the first event that overlaps the closed window [from, to]
+     *
+     * @param from start of the window in epoch minutes
+     * @param to   end of the window in epoch minutes
+     */
+    public void reset(long from, long to) {
+        this.timeline = this.eventManager.getTimeline();
+        this.from = from;
+        this.to = to;
+        this.position = this.timeline.firstEndingFrom(from) - 1;
+        this.current = null;
+    }
+
+    /**
+     * moves the cursor to the next event overlapping the window
+     *
+     * @return true if the cursor is on an event, false if there are no more
+     */
+    public boolean next() {
+        while (++this.position < this.timeline.size() && this.timeline.getStart(this.position) <= this.to) {
+            if (this.timeline.getEnd(this.position) >= this.from) {
+                this.current = this.timeline.getEvent(this.position);
+                return true;
+            }
+        }
+        this.position = this.timeline.size();
+        this.current = null;
+        return false;
+    }
+
+    /**
+     * @return the event the cursor is on - must not be modified or kept past the next call to next()
+     */
+    public Event getEvent() {
+        return this.current;
+    }
+
+    /**
+     * @return ID of the event the cursor is on
+     */
+    public UUID getID() {
+        return this.current.getID();
+    }
+
+    /**
+     * @return name of the event the cursor is on
+     */
+    public String getName() {
+        return this.current.getName();
+    }
+
+    /**
+     * @return start time of the event the cursor is on, or null if it has none
+     */
+    public LocalDateTime getStartTime() {
+        return this.current.getStartTime();
+    }
+
+    /**
+     * @return end time of the event the cursor is on
+     */
+    public LocalDateTime getEndTime() {
+        return this.current.getEndTime();
+    }
+
+    /**
+     * @return start of the event the cursor is on in epoch minutes (its end if it has no start)
+     */
+    public long getStartMinute() {
+        return this.timeline.getStart(this.position);
+    }
+
+    /**
+     * @return end of the event the cursor is on in epoch minutes
+     */
+    public long getEndMinute() {
+        return this.timeline.getEnd(this.position);
+    }
+
+    /**
+     * @return number of work sessions of the event the cursor is on
+     */
+    public int getSessionCount() {
+        return this.current.getWorkSessions().size();
+    }
+}
@@ -0,0 +1,117 @@
+package usecases.events;
+
+import entities.Event;
+import interfaces.EventListObserver;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Materialized view of every event, work session and repeated event of an EventManager split at day boundaries
+ * (as by <code>EventManager.splitByDay</code>), updated one event at a time by EventManager whenever an event is
+ * indexed, removed, or its time changes. An update only re-splits the changed event, so its cost scales with the
+ * number of days the event spans rather than with the number of events.
+ * <p>
+ * Reading the view returns an unmodifiable snapshot that is only rebuilt after the view has changed. Each update
+ * increments <code>getVersion</code>, so readers can tell whether a snapshot they hold is still current.
+ *
+ * @see EventManager#getAllEventsFlatSplit()
+ */
+public class EventDaySplitView implements EventListObserver {
+    private final Map<UUID, List<Event>> splitEvents = new LinkedHashMap<>();
+    private final Map<UUID, List<LocalDate>> splitDates = new HashMap<>();
+    private final Map<LocalDate, Map<UUID, Event>> days = new HashMap<>();
+    private long version;
+    private List<Event> snapshot = Collections.emptyList();
+
+    /**
+     * re-splits the changed event by day, replacing the split events previously stored for its ID, or removes them
+     *
+     * @param addRemoveChange "add", "remove" or "change"
+     * @param changed         the event that was added, removed, or whose time changed
+     * @param eventManager    the eventManager that was updated
+     */
+    @Override
+    public void update(String addRemoveChange, Event changed, EventManager eventManager) {
+        this.removeSplit(changed.getID());
+        if (!addRemoveChange.equalsIgnoreCase("remove")) {
+            List<Event> split = eventManager.splitByDay(changed);
+            List<LocalDate> dates = new ArrayList<>();
+            for (Event day : split) {
+                LocalDate date = day.getEndTime().toLocalDate();
+                dates.add(date);
+                this.days.computeIfAbsent(date, newDate -> new LinkedHashMap<>()).put(changed.getID(), day);
+            }
+            this.splitEvents.put(changed.getID(), split);
+            this.splitDates.put(changed.getID(), dates);
+        }
+        this.version++;
+        this.snapshot = null;
+    }
+
+    /**
+     * removes every event from the view
+     */
+    public void clear() {
+        this.splitEvents.clear();
+        this.splitDates.clear();
+        this.days.clear();
+        this.version++;
+        this.snapshot = null;
+    }
+
+    /**
+     * @return unmodifiable list of all events split at day boundaries, in which the pieces of one event are equal as
+     * they share its ID
+     */
+    public List<Event> getAll() {
+        if (this.snapshot == null) {
+            List<Event> all = new ArrayList<>();
+            for (List<Event> split : this.splitEvents.values()) {
+                all.addAll(split);
+            }
+            this.snapshot = Collections.unmodifiableList(all);
+        }
+        return this.snapshot;
+    }
+
+    /**
+     * @param date a LocalDate
+     * @return list of all split events that end on this date (one per event occurring that day)
+     */
+    public List<Event> getDay(LocalDate date) {
+        Map<UUID, Event> day = this.days.get(date);
+        if (day == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(day.values());
+    }
+
+    /**
+     * @return the number of updates this view has had - changes whenever the events in the view change
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * removes the split events of the event with this ID. Uses the dates recorded when they were added, since an event
+     * that was not split is stored as is and may have had its time modified since
+     */
+    private void removeSplit(UUID eventID) {
+        this.splitEvents.remove(eventID);
+        List<LocalDate> dates = this.splitDates.remove(eventID);
+        if (dates == null) {
+            return;
+        }
+        for (LocalDate date : dates) {
+            Map<UUID, Event> bucket = this.days.get(date);
+            if (bucket != null) {
+                bucket.remove(eventID);
+                if (bucket.isEmpty()) {
+                    this.days.remove(date);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package usecases.events;
+
+import entities.Event;
+import usecases.events.changes.EventInterval;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Interval index over the effective start and end times of Events, stored as a randomized balanced binary search
+ * tree (treap) ordered by (start, ID) where every node also records the latest end time in its subtree. Answers
+ * "which events overlap this window" in O(log n + k) expected time.
+ * <p>
+ * An Event without a start time (a deadline) is indexed as the single instant of its end time. Each node keeps a
+ * copy of the bounds it was inserted with, so an Event whose times were modified can be found and re-inserted with
+ * <code>refresh</code>. The same Event may be added by more than one source (e.g. a top level event that is also
+ * part of a recursion) - it is stored once and only leaves the index when every source has removed it.
+ *
+ * @see EventManager#query(LocalDateTime, LocalDateTime)
+ */
+public class EventIntervalTree {
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private final Random random = new Random();
+    private Node root;
+
+    private static class Node {
+        private final UUID id;
+        private Event event;
+        private long start;
+        private long end;
+        private long maxEnd;
+        private final int priority;
+        private int references;
+        private Node left;
+        private Node right;
+
+        private Node(Event event, int priority) {
+            this.id = event.getID();
+            this.event = event;
+            this.priority = priority;
+            this.references = 1;
+        }
+    }
+
+    /**
+     * adds an Event to the index. If an Event with the same ID is already indexed, it is replaced by this one and
+     * its bounds are refreshed, and it will need to be removed one more time before it leaves the index
+     *
+     * @param event the Event to index
+     */
+    public void add(Event event) {
+        Node node = this.nodes.get(event.getID());
+        if (node != null) {
+            node.references++;
+            node.event = event;
+            this.refresh(event);
+            return;
+        }
+        node = new Node(event, this.random.nextInt());
+        this.setBounds(node, event);
+        this.nodes.put(node.id, node);
+        this.root = insert(this.root, node);
+    }
+
+    /**
+     * removes one reference to the Event with this ID from the index, removing it entirely when no references remain
+     *
+     * @param eventID UUID of the Event
+     */
+    public void remove(UUID eventID) {
+        Node node = this.nodes.get(eventID);
+        if (node == null) {
+            return;
+        }
+        node.references--;
+        if (node.references == 0) {
+            this.nodes.remove(eventID);
+            this.root = delete(this.root, node.start, node.id);
+        }
+    }
+
+    /**
+     * re-reads the start and end time of an indexed Event, moving it within the tree if they have changed.
+     * Does nothing if the Event is not indexed
+     *
+     * @param event an Event whose times may have changed
+     * @return true if the Event is indexed and its times had changed
+     */
+    public boolean refresh(Event event) {
+        Node node = this.nodes.get(event.getID());
+        if (node == null) {
+            return false;
+        }
+        long start = startOf(event);
+        long end = endOf(event);
+        if (start == node.start && end == node.end) {
+            return false;
+        }
+        this.root = delete(this.root, node.start, node.id);
+        node.left = null;
+        node.right = null;
+        this.setBounds(node, event);
+        this.root = insert(this.root, node);
+        return true;
+    }
+
+    /**
+     * @param eventID UUID of an Event
+     * @return the start and end the Event with this ID was last indexed with, or null if it is not indexed
+     */
+    public EventInterval getInterval(UUID eventID) {
+        Node node = this.nodes.get(eventID);
+        if (node == null) {
+            return null;
+        }
+        return new EventInterval(node.start, node.end);
+    }
+
+    /**
+     * removes every Event from the index
+     */
+    public void clear() {
+        this.nodes.clear();
+        this.root = null;
+    }
+
+    /**
+     * @param eventID UUID of an Event
+     * @return true if an Event with this ID is indexed
+     */
+    public boolean contains(UUID eventID) {
+        return this.nodes.containsKey(eventID);
+    }
+
+    /**
+     * @param eventID UUID of an Event
+     * @return the indexed Event with this ID, or null if there is none
+     */
+    public Event get(UUID eventID) {
+        Node node = this.nodes.get(eventID);
+        if (node == null) {
+            return null;
+        }
+        return node.event;
+    }
+
+    /**
+     * @return the number of distinct Events indexed
+     */
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * returns all indexed Events whose time overlaps the closed window [from, to], ordered by start time.
+     * Events that only touch the window (end exactly at from, or start exactly at to) are included
+     *
+     * @param from LocalDateTime start of the window
+     * @param to   LocalDateTime end of the window
+     * @return list of overlapping Events, earliest start first
+     */
+    public List<Event> query(LocalDateTime from, LocalDateTime to) {
+        List<Event> result = new ArrayList<>();
+        collect(this.root, toMinutes(from), toMinutes(to), result);
+        return result;
+    }
+
+    /**
+     * @return all indexed Events ordered by start time (then by ID)
+     */
+    public List<Event> inOrder() {
+        List<Event> result = new ArrayList<>(this.nodes.size());
+        inOrder(this.root, result);
+        return result;
+    }
+
+    /**
+     * @param time a LocalDateTime
+     * @return the indexed Event with the latest start time at or before time, or null if there is none
+     */
+    public Event floor(LocalDateTime time) {
+        long minutes = toMinutes(time);
+        Node floor = null;
+        Node node = this.root;
+        while (node != null) {
+            if (node.start <= minutes) {
+                floor = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return floor == null ? null : floor.event;
+    }
+
+    /**
+     * @param time a LocalDateTime
+     * @return the indexed Event with the earliest start time at or after time, or null if there is none
+     */
+    public Event ceiling(LocalDateTime time) {
+        List<Event> next = this.next(time, 1);
+        return next.isEmpty() ? null : next.get(0);
+    }
+
+    /**
+     * @param time  a LocalDateTime
+     * @param count the maximum number of Events to return
+     * @return the (at most) count indexed Events with the earliest start times at or after time, ordered by start time
+     */
+    public List<Event> next(LocalDateTime time, int count) {
+        List<Event> result = new ArrayList<>();
+        next(this.root, toMinutes(time), count, result);
+        return result;
+    }
+
+    private static void inOrder(Node node, List<Event> result) {
+        if (node == null) {
+            return;
+        }
+        inOrder(node.left, result);
+        result.add(node.event);
+        inOrder(node.right, result);
+    }
+
+    private static void next(Node node, long from, int count, List<Event> result) {
+        if (node == null || result.size() >= count) {
+            return;
+        }
+        if (node.start >= from) {
+            next(node.left, from, count, result);
+            if (result.size() < count) {
+                result.add(node.event);
+            }
+        }
+        next(node.right, from, count, result);
+    }
+
+    private void setBounds(Node node, Event event) {
+        node.start = startOf(event);
+        node.end = endOf(event);
+        node.maxEnd = node.end;
+    }
+
+    private static void collect(Node node, long from, long to, List<Event> result) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            result.add(node.event);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static Node insert(Node node, Node toInsert) {
+        if (node == null) {
+            return toInsert;
+        }
+        if (toInsert.priority > node.priority) {
+            Node[] parts = split(node, toInsert.start, toInsert.id);
+            toInsert.left = parts[0];
+            toInsert.right = parts[1];
+            update(toInsert);
+            return toInsert;
+        }
+        if (compare(toInsert.start, toInsert.id, node) < 0) {
+            node.left = insert(node.left, toInsert);
+        } else {
+            node.right = insert(node.right, toInsert);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node delete(Node node, long start, UUID id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, id, node);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = delete(node.left, start, id);
+        } else {
+            node.right = delete(node.right, start, id);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * splits a subtree into nodes ordered before (start, id) and nodes ordered at or after it
+     */
+    private static Node[] split(Node node, long start, UUID id) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(start, id, node) > 0) {
+            Node[] parts = split(node.right, start, id);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        } else {
+            Node[] parts = split(node.left, start, id);
+            node.left = parts[1];
+            update(node);
+            return new Node[]{parts[0], node};
+        }
+    }
+
+    /**
+     * merges two subtrees where every node of left is ordered before every node of right
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            update(right);
+            return right;
+        }
+    }
+
+    private static void update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(long start, UUID id, Node node) {
+        int comparison = Long.compare(start, node.start);
+        if (comparison == 0) {
+            return id.compareTo(node.id);
+        }
+        return comparison;
+    }
+
+    private static long startOf(Event event) {
+        return Math.min(event.getStartMinute(), event.getEndMinute());
+    }
+
+    private static long endOf(Event event) {
+        return Math.max(event.getStartMinute(), event.getEndMinute());
+    }
+
+    private static long toMinutes(LocalDateTime time) {
+        return Event.toEpochMinute(time);
+    }
+}
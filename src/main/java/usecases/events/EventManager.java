@@ -3,13 +3,19 @@ package usecases.events;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.time.LocalDate;
 
 import entities.Event;
 import entities.recursions.RecursiveEvent;
 
 import helpers.EventHelper;
+import interfaces.EventChangeListener;
 import interfaces.EventListObserver;
+import interfaces.RecursionObserver;
+import usecases.events.changes.*;
 
 /**
  * stores and Manages events
@@ -23,18 +29,32 @@ import interfaces.EventListObserver;
  * @author Seo Won Yi
  */
 
-public class EventManager {
+public class EventManager implements RecursionObserver {
     private final Map<UUID, Event> eventMap;
     private final RepeatedEventManager repeatedEventManager;
-    private EventListObserver[] toUpdate;
+    private final EventChangeBus changeBus = new EventChangeBus(this);
+    private final DefaultEventInfoGetter defaultEventInfoGetter = new DefaultEventInfoGetter(this);
+    private final Map<EventListObserver, EventChangeListener> observers = new IdentityHashMap<>();
     public EventHelper eventHelper = new EventHelper();
 
-    private Map<UUID, List<Event>> uuidEventsMap;
-    private Map<UUID, Map<UUID, RecursiveEvent>> uuidRecursiveEventsMap;
+    private final EventIntervalTree timeIndex = new EventIntervalTree();
+    private final EventDaySplitView daySplitView = new EventDaySplitView();
+    private ConflictRegistry conflictRegistry;
+    private FreeBusyIndex freeBusyIndex;
+    private OverlapDepthTree overlapDepthTree;
+    private final Map<UUID, List<Event>> indexedWorkSessions = new HashMap<>();
+    private final Map<UUID, List<Event>> indexedRecursions = new HashMap<>();
+    private EventTimeline timeline;
+    private long timelineVersion = -1;
+    private int batchDepth;
+    private boolean indexStale;
+    private boolean rebuilding;
+    private final List<EventChange> batchChanges = new ArrayList<>();
+    private long modifications;
 
     /**
      * constructs event manager. stores list of events by key: ID, value: event in <code>this.eventMap</code>
-     * sets <code>this.toUpdate</code> to empty list of <code>EventListObservers</code>
+     * with no observers
      *
      * @param events a list of events to be stored in <code>this.eventMap</code>
      */
@@ -47,13 +67,13 @@ public class EventManager {
                 this.eventMap.put(event.getID(), event);
             }
         }
-        this.toUpdate = new EventListObserver[]{};
         this.repeatedEventManager = new RepeatedEventManager();
+        this.buildIndex();
     }
 
     /**
      * constructs event manager. stores list of events by key: ID, value: event in <code>this.eventMap</code>
-     * sets <code>this.toUpdate</code> to empty list of <code>EventListObservers</code>
+     * with no observers
      *
      * @param events a list of events to be stored in <code>this.eventMap</code>
      */
@@ -66,65 +86,66 @@ public class EventManager {
                 this.eventMap.put(event.getID(), event);
             }
         }
-        this.toUpdate = new EventListObserver[]{};
         this.repeatedEventManager = new RepeatedEventManager(recursiveEventMap);
+        this.buildIndex();
     }
 
     /**
-     * Get this Events map
-     *
-     * @return A map of UUID of users as keys and list of events of that user as values
+     * indexes every event in <code>this.eventMap</code> along with their work sessions, and registers with
+     * <code>this.repeatedEventManager</code> to index the events of every recursion
      */
-    public Map<UUID, List<Event>> getUuidEventsMap() {
-        return this.uuidEventsMap;
+    private void buildIndex() {
+        for (Event event : this.eventMap.values()) {
+            this.index(event);
+        }
+        this.repeatedEventManager.setRecursionObserver(this);
     }
 
     /**
-     * Get this RecursiveEvents map
-     *
-     * @return A map of UUID of users as keys and list of events of that user as values
+     * records that an event of this EventManager was modified. Called by every method that adds, removes or changes
+     * an event
      */
-    public Map<UUID, Map<UUID, RecursiveEvent>> getUuidRecursiveEventsMap() {
-        return uuidRecursiveEventsMap;
+    private void markModified() {
+        this.modifications++;
     }
 
     /**
-     * Set this Events map to the parameter
+     * changes information of an event other than its time, e.g. its name or work session preferences, and records
+     * the modification
      *
-     * @param map A map of UUID of users as keys and list of events of that user as values
+     * @param id   UUID of an event
+     * @param edit the change to make to the event
      */
-    public void setUuidEventsMap(Map<UUID, List<Event>> map) {
-        this.uuidEventsMap = map;
+    public void edit(UUID id, Consumer<Event> edit) {
+        edit.accept(this.get(id));
+        this.markModified();
     }
 
     /**
-     * Set this RecursiveEvents map to the parameter
-     *
-     * @param uuidRecursiveEventsMap A map of UUID of maps of UUID as keys and list of events of that user as values
+     * @return the number of modifications of events - changes whenever an event is added, removed or changed, so
+     * comparing it with an earlier count tells whether anything changed since
+     * @see EventShardStore
      */
-    public void setUuidRecursiveEventsMap(Map<UUID, Map<UUID, RecursiveEvent>> uuidRecursiveEventsMap) {
-        this.uuidRecursiveEventsMap = uuidRecursiveEventsMap;
+    public long getModificationCount() {
+        return this.modifications;
     }
 
     /**
-     * returns an event in <code>this.eventMap</code> with the input ID if it is there, otherwise returns null
+     * returns the event with the input ID if it is in <code>this.eventMap</code>, is a work session of an event, or is
+     * an event of a recursion, otherwise returns null. Work sessions and events of recursions are looked up in the
+     * time index, which is kept up to date as they are modified
      *
      * @param eventID the ID of an event
      * @return the event with this ID, or null
      */
     public Event get(UUID eventID) {
-        if (this.eventMap.containsKey(eventID)) {
-            return eventMap.get(eventID);
-        } else {
-            for (Event event : getDefaultEventInfoGetter().getAllEvents()) {
-                if (!event.getWorkSessions().isEmpty()) {
-                    for (Event session : event.getWorkSessions()) {
-                        if (session.getID().equals(eventID)) {
-                            return session;
-                        }
-                    }
-                }
-            }
+        Event event = this.eventMap.get(eventID);
+        if (event != null) {
+            return event;
+        }
+        event = this.timeIndex.get(eventID);
+        if (event != null) {
+            return event;
         }
         return this.repeatedEventManager.getThisEventFromRecursion(eventID);
     }
@@ -145,7 +166,11 @@ public class EventManager {
      */
     public Event remove(UUID ID) {
         this.update("remove", this.get(ID));
-        return eventMap.remove(ID);
+        Event removed = eventMap.remove(ID);
+        if (removed != null) {
+            this.unIndexOrDefer(removed);
+        }
+        return removed;
     }
 
     /**
@@ -154,7 +179,11 @@ public class EventManager {
      * @param id the name to be removed
      */
     public void removeWithoutUpdate(UUID id) {
-        eventMap.remove(id);
+        this.markModified();
+        Event removed = eventMap.remove(id);
+        if (removed != null) {
+            this.unIndexOrDefer(removed);
+        }
     }
 
     /**
@@ -186,7 +215,15 @@ public class EventManager {
      * @param event event to be added
      */
     public UUID addEvent(Event event) {
-        this.eventMap.put(event.getID(), event);
+        Event replaced = this.eventMap.put(event.getID(), event);
+        if (this.batchDepth > 0) {
+            this.indexStale = true;
+        } else {
+            if (replaced != null) {
+                this.unIndex(replaced);
+            }
+            this.index(event);
+        }
         this.update("add", event);
         return this.getDefaultEventInfoGetter().getID(event);
     }
@@ -217,7 +254,7 @@ public class EventManager {
      * multiple days, will return an event with startTime = event.startTime, endTime the same day as the startTime
      * but with time = 24:00, and each subsequent event will have start and end 0:00-24:00 for each day the event spans
      * fully. The final event will have start time 0:00 on the date of the endTime, with endTime same as the original
-     * events endTime
+     * events endTime. The split events keep the ID of the event, so they are equal to it and to each other
      *
      * @param event the event to be split, may or may not have start time or span multiple days
      * @return the list of events as split by day
@@ -241,6 +278,247 @@ public class EventManager {
         return new ArrayList<>(List.of(new Event[]{event}));
     }
 
+    /**
+     * returns every event, work session and repeated event whose time overlaps the window from-to (inclusive),
+     * ordered by start time. Events are not split by day. Deadlines (events with no start time) overlap the window if
+     * their end time is within it
+     *
+     * @param from LocalDateTime start of the window
+     * @param to   LocalDateTime end of the window
+     * @return list of all events overlapping the window, earliest start first
+     * @see EventIntervalTree#query(LocalDateTime, LocalDateTime)
+     */
+    public List<Event> query(LocalDateTime from, LocalDateTime to) {
+        return this.timeIndex.query(from, to);
+    }
+
+    /**
+     * returns every event, work session and repeated event ordered by start time (end time for events with no start
+     * time), read in order from the time index without sorting
+     *
+     * @return list of all events, earliest first
+     */
+    public List<Event> getAllEventsOrdered() {
+        return this.timeIndex.inOrder();
+    }
+
+    /**
+     * returns a primitive snapshot of the times of every event, work session and repeated event, ordered by start.
+     * The snapshot is cached and only rebuilt after events have changed
+     *
+     * @return EventTimeline of all events
+     * @see EventTimeline
+     */
+    public EventTimeline getTimeline() {
+        if (this.timeline == null || this.timelineVersion != this.daySplitView.getVersion()) {
+            this.timeline = new EventTimeline(this.timeIndex.inOrder());
+            this.timelineVersion = this.daySplitView.getVersion();
+        }
+        return this.timeline;
+    }
+
+    /**
+     * creates a cursor that visits every event, work session and repeated event in order of start time without
+     * allocating - keep and reset it rather than creating one per pass
+     *
+     * @return a new EventCursor over this EventManager
+     * @see EventCursor
+     */
+    public EventCursor getCursor() {
+        return new EventCursor(this);
+    }
+
+    /**
+     * lazily finds the groups of conflicting events, work sessions and repeated events overlapping the closed window
+     * [from, to], of any length. Events are compared whole, so events crossing midnight conflict with the events on
+     * either day. Groups are found as the stream is consumed, so stopping early skips the rest of the window
+     *
+     * @param from LocalDateTime start of the window
+     * @param to   LocalDateTime end of the window
+     * @return sequential stream of the groups of two or more conflicting event IDs, each ordered by start time,
+     * ordered by the start of their first event
+     * @see ConflictSpliterator
+     */
+    public Stream<List<UUID>> findConflicts(LocalDateTime from, LocalDateTime to) {
+        return StreamSupport.stream(new ConflictSpliterator(this, from, to), false);
+    }
+
+    /**
+     * @param time a LocalDateTime
+     * @return the event, work session or repeated event with the earliest start at or after time, or null
+     */
+    public Event nextEvent(LocalDateTime time) {
+        return this.timeIndex.ceiling(time);
+    }
+
+    /**
+     * @param time a LocalDateTime
+     * @return the event, work session or repeated event with the latest start at or before time, or null
+     */
+    public Event previousEvent(LocalDateTime time) {
+        return this.timeIndex.floor(time);
+    }
+
+    /**
+     * @param time  a LocalDateTime
+     * @param count the maximum number of events to return
+     * @return the first count events, work sessions or repeated events starting at or after time, earliest first
+     */
+    public List<Event> nextEvents(LocalDateTime time, int count) {
+        return this.timeIndex.next(time, count);
+    }
+
+    /**
+     * @param from LocalDateTime start of the window
+     * @param to   LocalDateTime end of the window
+     * @return the IDs of all events overlapping the window, ordered by start time
+     * @see EventManager#query(LocalDateTime, LocalDateTime)
+     */
+    public List<UUID> getOrderedIDs(LocalDateTime from, LocalDateTime to) {
+        List<UUID> ordered = new ArrayList<>();
+        for (Event event : this.timeIndex.query(from, to)) {
+            ordered.add(event.getID());
+        }
+        return ordered;
+    }
+
+    /**
+     * re-indexes the work sessions of the event with this ID. Must be called whenever the list of work sessions of an
+     * event is modified
+     *
+     * @param eventID UUID of an event whose work sessions have changed
+     */
+    public void refreshWorkSessions(UUID eventID) {
+        this.markModified();
+        Event event = this.get(eventID);
+        List<Event> sessions = this.indexedWorkSessions.getOrDefault(eventID, new ArrayList<>());
+        EventChange change = event == null ? null : new WorkSessionsChanged(event, sessions, event.getWorkSessions());
+        if (this.batchDepth > 0) {
+            this.indexStale = true;
+            if (change != null) {
+                this.batchChanges.add(change);
+            }
+            return;
+        }
+        this.indexedWorkSessions.remove(eventID);
+        for (Event session : sessions) {
+            this.removeFromIndex(session);
+        }
+        if (event != null && this.timeIndex.contains(eventID)) {
+            this.indexWorkSessions(event);
+        }
+        if (change != null) {
+            this.changeBus.publish(change);
+        }
+    }
+
+    /**
+     * re-indexes the events of a recursion when they are created or rebuilt by <code>this.repeatedEventManager</code>
+     *
+     * @param recursiveId the UUID of the recursion that was updated
+     * @param instances   all the events currently in the recursion
+     */
+    @Override
+    public void updateRecursion(UUID recursiveId, List<Event> instances) {
+        this.markModified();
+        List<Event> previous = this.indexedRecursions.getOrDefault(recursiveId, new ArrayList<>());
+        RecursionChanged change = new RecursionChanged(recursiveId, previous, instances);
+        if (this.batchDepth > 0) {
+            this.indexStale = true;
+            this.batchChanges.add(change);
+            return;
+        }
+        this.indexedRecursions.remove(recursiveId);
+        for (Event event : previous) {
+            this.unIndex(event);
+        }
+        List<Event> current = new ArrayList<>(instances);
+        for (Event event : current) {
+            this.index(event);
+        }
+        this.indexedRecursions.put(recursiveId, current);
+        if (!this.rebuilding) {
+            this.changeBus.publish(change);
+        }
+    }
+
+    /**
+     * removes an event from the index, or marks the index to be rebuilt at the end of the current batch
+     */
+    private void unIndexOrDefer(Event event) {
+        if (this.batchDepth > 0) {
+            this.indexStale = true;
+        } else {
+            this.unIndex(event);
+        }
+    }
+
+    private void index(Event event) {
+        this.addToIndex(event);
+        if (!this.indexedWorkSessions.containsKey(event.getID())) {
+            this.indexWorkSessions(event);
+        }
+    }
+
+    private void indexWorkSessions(Event event) {
+        List<Event> sessions = new ArrayList<>(event.getWorkSessions());
+        for (Event session : sessions) {
+            this.addToIndex(session);
+        }
+        this.indexedWorkSessions.put(event.getID(), sessions);
+    }
+
+    private void unIndex(Event event) {
+        this.removeFromIndex(event);
+        if (!this.timeIndex.contains(event.getID())) {
+            List<Event> sessions = this.indexedWorkSessions.remove(event.getID());
+            if (sessions != null) {
+                for (Event session : sessions) {
+                    this.removeFromIndex(session);
+                }
+            }
+        }
+    }
+
+    /**
+     * adds a single event to the time index and the day split view
+     */
+    private void addToIndex(Event event) {
+        this.timeIndex.add(event);
+        this.updateViews("add", event);
+    }
+
+    /**
+     * removes a single event from the time index, and from the day split view unless it is still indexed by
+     * another source (e.g. an event that is both in <code>this.eventMap</code> and in a recursion)
+     */
+    private void removeFromIndex(Event event) {
+        this.timeIndex.remove(event.getID());
+        Event remaining = this.timeIndex.get(event.getID());
+        if (remaining == null) {
+            this.updateViews("remove", event);
+        } else {
+            this.updateViews("change", remaining);
+        }
+    }
+
+    /**
+     * updates the views maintained from the time index (the day split view, and the conflict registry, free/busy
+     * index and overlap depth tree if they have been created) after an event was indexed, removed, or its time changed
+     */
+    private void updateViews(String addRemoveChange, Event event) {
+        this.daySplitView.update(addRemoveChange, event, this);
+        if (this.conflictRegistry != null) {
+            this.conflictRegistry.update(addRemoveChange, event, this);
+        }
+        if (this.freeBusyIndex != null) {
+            this.freeBusyIndex.update(addRemoveChange, event, this);
+        }
+        if (this.overlapDepthTree != null) {
+            this.overlapDepthTree.update(addRemoveChange, event, this);
+        }
+    }
+
     public RepeatedEventManager getRepeatedEventManager() {
         return repeatedEventManager;
     }
@@ -260,58 +538,210 @@ public class EventManager {
     }
 
     /**
-     * returns ArrayList of all events in <code>this.eventMap</code>, including work sessions within events and
-     * repeated events, split at day boundaries
+     * returns all events in <code>this.eventMap</code>, including work sessions within events and repeated events,
+     * split at day boundaries. The list is an unmodifiable snapshot of <code>this.getDaySplitView()</code>, which is
+     * kept up to date as events change rather than re-split on every call
      *
-     * @return list of events, including work sessions within events (flattened)
+     * @return unmodifiable list of events, including work sessions within events (flattened)
      */
     public List<Event> getAllEventsFlatSplit() {
-        List<Event> events = new ArrayList<>();
-        for (Event event : this.flattenWorkSessions(new ArrayList<>(this.eventMap.values()))) {
-            events.addAll(this.splitByDay(event));
-        }
-        for (RecursiveEvent recursiveEvent : repeatedEventManager.getRecursiveEventMap().values()) {
-            List<Event> repeatedEvents = recursiveEventList(recursiveEvent);
-            for (Event event : repeatedEvents) {
-                events.addAll(this.splitByDay(event));
-            }
+        return this.daySplitView.getAll();
+    }
+
+    /**
+     * @return the registry of conflicts between all events, maintained by this EventManager once it has been created
+     * by the first call to this method
+     */
+    public ConflictRegistry getConflictRegistry() {
+        if (this.conflictRegistry == null) {
+            this.conflictRegistry = new ConflictRegistry(this);
+        }
+        return this.conflictRegistry;
+    }
+
+    /**
+     * @return the free/busy bitmaps of the days of all events, kept up to date by this EventManager once it has been
+     * created by the first call to this method
+     */
+    public FreeBusyIndex getFreeBusyIndex() {
+        if (this.freeBusyIndex == null) {
+            this.freeBusyIndex = new FreeBusyIndex(this);
         }
-        return events;
+        return this.freeBusyIndex;
     }
 
     /**
-     * updates all eventList observers in <code>this.toUpdate</code> with given parameter. Runs when events are added,
-     * removed, or times change in <code>this.eventMap</code>
+     * @return the overlap depth of all events over time, kept up to date by this EventManager once it has been created
+     * by the first call to this method
+     */
+    public OverlapDepthTree getOverlapDepthTree() {
+        if (this.overlapDepthTree == null) {
+            this.overlapDepthTree = new OverlapDepthTree(this);
+        }
+        return this.overlapDepthTree;
+    }
+
+    /**
+     * @return the view of all events split at day boundaries, maintained by this EventManager
+     */
+    public EventDaySplitView getDaySplitView() {
+        return this.daySplitView;
+    }
+
+    /**
+     * publishes a change to <code>this.getChangeBus()</code> (and so to all observers). Runs when events are added,
+     * removed, or times change in <code>this.eventMap</code>. Refreshes the index of the event first if its time
+     * changed
      *
      * @param addRemoveChange string "add" or "remove" or "change" to specify the nature of the update
-     * @param changed         list of the events that are modified
+     * @param changed         the event that was modified
      */
     public void update(String addRemoveChange, Event changed) {
-        for (EventListObserver obs : this.toUpdate) {
-            obs.update(addRemoveChange, changed, this);
+        if (changed == null) {
+            return;
+        }
+        this.markModified();
+        EventChange change;
+        if (addRemoveChange.equalsIgnoreCase("add")) {
+            change = new EventAdded(changed);
+        } else if (addRemoveChange.equalsIgnoreCase("remove")) {
+            change = new EventRemoved(changed, this.indexedInterval(changed));
+        } else {
+            change = new EventTimeChanged(changed, this.indexedInterval(changed), EventInterval.of(changed));
+        }
+        if (this.batchDepth > 0) {
+            this.batchChanges.add(change);
+            this.indexStale = true;
+            return;
+        }
+        if (this.timeIndex.refresh(changed)) {
+            this.updateViews("change", changed);
         }
+        this.changeBus.publish(change);
+    }
+
+    /**
+     * @return the interval an event was last indexed with, or its current interval if it is not indexed
+     */
+    private EventInterval indexedInterval(Event event) {
+        EventInterval interval = this.timeIndex.getInterval(event.getID());
+        return interval == null ? EventInterval.of(event) : interval;
+    }
+
+    /**
+     * @return the bus typed changes to the events in this EventManager are published on
+     */
+    public EventChangeBus getChangeBus() {
+        return this.changeBus;
     }
 
     /**
-     * adds an <code>EventListObserver</code> to <code>this.toUpdate</code>
+     * starts a batch of changes. Until the matching <code>commitBatch</code>, adding, removing or changing events does
+     * not update the time index, day split view or observers. Batches may be nested - only the outermost commit takes
+     * effect. While in a batch, <code>get</code> still finds events in <code>this.eventMap</code> and recursions, but
+     * queries on the index reflect the events as they were before the batch
+     */
+    public void beginBatch() {
+        this.batchDepth++;
+    }
+
+    /**
+     * ends a batch of changes started with <code>beginBatch</code>. If this ends the outermost batch, rebuilds the
+     * index once if anything changed, then publishes every change made during the batch at once, coalesced so there
+     * is at most one change of each kind per event (e.g. an add then a time change is published as an add, and an
+     * event added and then removed is not published at all)
+     *
+     * @see EventChangeBus#coalesce(List)
+     *
+     * @throws IllegalStateException if there is no batch to commit
+     */
+    public void commitBatch() {
+        if (this.batchDepth == 0) {
+            throw new IllegalStateException("commitBatch called without beginBatch");
+        }
+        this.batchDepth--;
+        if (this.batchDepth > 0) {
+            return;
+        }
+        if (this.indexStale) {
+            this.indexStale = false;
+            this.rebuildIndex();
+        }
+        List<EventChange> changes = EventChangeBus.coalesce(this.batchChanges);
+        this.batchChanges.clear();
+        this.changeBus.publish(changes);
+    }
+
+    /**
+     * @return true if a batch of changes has been started and not yet committed
+     */
+    public boolean inBatch() {
+        return this.batchDepth > 0;
+    }
+
+    /**
+     * discards and rebuilds the time index and day split view from <code>this.eventMap</code> and the recursions in
+     * <code>this.repeatedEventManager</code>, without publishing the replayed recursions (the changes recorded during
+     * the batch are published instead)
+     */
+    private void rebuildIndex() {
+        this.timeIndex.clear();
+        this.daySplitView.clear();
+        if (this.conflictRegistry != null) {
+            this.conflictRegistry.clear();
+        }
+        if (this.freeBusyIndex != null) {
+            this.freeBusyIndex.clear();
+        }
+        if (this.overlapDepthTree != null) {
+            this.overlapDepthTree.clear();
+        }
+        this.indexedWorkSessions.clear();
+        this.indexedRecursions.clear();
+        this.rebuilding = true;
+        try {
+            this.buildIndex();
+        } finally {
+            this.rebuilding = false;
+        }
+    }
+
+    /**
+     * subscribes an <code>EventListObserver</code> synchronously to <code>this.getChangeBus()</code>. It is updated
+     * with "add", "remove" or "change" for each added, removed, or time changed event (not for work session changes).
+     * Adding the same observer twice has no effect
      *
      * @param obs the observer to be added
      */
     public void addObserver(EventListObserver obs) {
-        List<EventListObserver> inter = new ArrayList<>(List.of(this.toUpdate));
-        inter.add(obs);
-        this.toUpdate = inter.toArray(new EventListObserver[0]);
+        if (this.observers.containsKey(obs)) {
+            return;
+        }
+        EventChangeListener listener = (changes, eventManager) -> {
+            for (EventChange change : changes) {
+                if (change instanceof EventAdded) {
+                    obs.update("add", change.getEvent(), eventManager);
+                } else if (change instanceof EventRemoved) {
+                    obs.update("remove", change.getEvent(), eventManager);
+                } else if (change instanceof EventTimeChanged) {
+                    obs.update("change", change.getEvent(), eventManager);
+                }
+            }
+        };
+        this.observers.put(obs, listener);
+        this.changeBus.subscribe(listener);
     }
 
     /**
-     * Removes an EventListObserver from list that is updated in update method
+     * Removes an EventListObserver added with addObserver
      *
      * @param obs EventListObserver to be removed
      */
     public void removeObserver(EventListObserver obs) {
-        List<EventListObserver> inter = new ArrayList<>(List.of(this.toUpdate));
-        inter.remove(obs);
-        this.toUpdate = inter.toArray(new EventListObserver[0]);
+        EventChangeListener listener = this.observers.remove(obs);
+        if (listener != null) {
+            this.changeBus.unsubscribe(listener);
+        }
     }
 
     /**
@@ -367,13 +797,19 @@ public class EventManager {
     }
 
     /**
-     * Adds a list of events to eventMap
+     * Adds a list of events to eventMap in a single batch - the index is rebuilt and observers are updated once at the
+     * end rather than for every event
      *
      * @param events List of Events
      */
     public void addAll(List<Event> events) {
-        for (Event event : events) {
-            this.addEvent(event);
+        this.beginBatch();
+        try {
+            for (Event event : events) {
+                this.addEvent(event);
+            }
+        } finally {
+            this.commitBatch();
         }
     }
 
@@ -385,14 +821,14 @@ public class EventManager {
     }
 
     /**
-     * constructs DefaultEventInfoGetter with this EventManager
+     * the DefaultEventInfoGetter of this EventManager - it holds no state of its own, so one is shared by all callers
      *
-     * @return a new DefaultEventInfoGetter
+     * @return DefaultEventInfoGetter of this EventManager
      * @see DefaultEventInfoGetter
      * @see interfaces.EventInfoGetter
      */
     public DefaultEventInfoGetter getDefaultEventInfoGetter() {
-        return new DefaultEventInfoGetter(this);
+        return this.defaultEventInfoGetter;
     }
 
     /**
@@ -416,10 +852,9 @@ public class EventManager {
         for (UUID eventID : eventIDList) {
             eventList.add(get(eventID));
         }
-        eventList = eventHelper.timeOrder(eventList);
         List<UUID> sortedEventID = new ArrayList<>();
-        for (Event event : eventList) {
-            sortedEventID.add(getDefaultEventInfoGetter().getID(event));
+        for (Event event : eventHelper.timeOrder(eventList)) {
+            sortedEventID.add(event.getID());
         }
         return sortedEventID;
     }
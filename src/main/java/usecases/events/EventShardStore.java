@@ -0,0 +1,178 @@
+package usecases.events;
+
+import entities.Event;
+import entities.recursions.RecursiveEvent;
+import interfaces.EventShardSource;
+
+import java.util.*;
+
+/**
+ * Holds the events of each User as a separate shard - an EventManager of only that User's events and recursions.
+ * The shard of the logged-in User is opened when they log in; the shards of other Users are only read from the
+ * EventShardSource when they are asked for, and are evicted again once released (or saved, if modified).
+ * <p>
+ * A shard is dirty once its EventManager has been modified since it was read or last saved, so saving only has to
+ * write the dirty shards.
+ *
+ * @see EventManager#getModificationCount()
+ */
+public class EventShardStore {
+    private final EventShardSource source;
+    private final Map<UUID, EventManager> shards = new HashMap<>();
+    private final Map<UUID, Long> savedModifications = new HashMap<>();
+    private UUID activeUser;
+
+    /**
+     * constructs a store with no loaded shards
+     *
+     * @param source where shards are read from
+     */
+    public EventShardStore(EventShardSource source) {
+        this.source = source;
+    }
+
+    /**
+     * reads the shard of the logged-in User and keeps it loaded until another User is opened. Releases the shard of the
+     * previously logged-in User
+     *
+     * @param userID UUID of the logged-in User
+     * @return EventManager of the User's events
+     */
+    public EventManager open(UUID userID) {
+        UUID previous = this.activeUser;
+        this.activeUser = userID;
+        if (previous != null && !previous.equals(userID)) {
+            this.release(previous);
+        }
+        return this.get(userID);
+    }
+
+    /**
+     * starts an empty shard for the logged-in User without reading from the source (for when there is no saved data),
+     * replacing any shard already loaded for them
+     *
+     * @param userID UUID of the logged-in User
+     * @return empty EventManager for the User's events
+     */
+    public EventManager create(UUID userID) {
+        this.shards.remove(userID);
+        this.put(userID, new EventManager(new ArrayList<>()));
+        return this.open(userID);
+    }
+
+    /**
+     * returns the shard of a User, reading it from the source if it is not loaded. Shards of Users other than the
+     * logged-in User should be released when no longer needed
+     *
+     * @param userID UUID of a User
+     * @return EventManager of the User's events
+     */
+    public EventManager get(UUID userID) {
+        EventManager shard = this.shards.get(userID);
+        if (shard == null) {
+            shard = new EventManager(this.source.readEvents(userID), this.source.readRecursiveEvents(userID));
+            this.put(userID, shard);
+        }
+        return shard;
+    }
+
+    /**
+     * returns the shards of several Users, reading the ones that are not loaded from the source together, so the
+     * source is read once rather than once per User. Shards of Users other than the logged-in User should be released
+     * when no longer needed
+     *
+     * @param userIDs UUIDs of Users
+     * @return EventManager of each User's events by UUID of the User, in the order of userIDs
+     */
+    public Map<UUID, EventManager> getAll(Collection<UUID> userIDs) {
+        Set<UUID> missing = new LinkedHashSet<>();
+        for (UUID userID : userIDs) {
+            if (!this.shards.containsKey(userID)) {
+                missing.add(userID);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<UUID, List<Event>> events = this.source.readEvents(missing);
+            Map<UUID, Map<UUID, RecursiveEvent>> recursiveEvents = this.source.readRecursiveEvents(missing);
+            for (UUID userID : missing) {
+                this.put(userID, new EventManager(events.getOrDefault(userID, new ArrayList<>()),
+                        recursiveEvents.getOrDefault(userID, new HashMap<>())));
+            }
+        }
+        Map<UUID, EventManager> all = new LinkedHashMap<>();
+        for (UUID userID : userIDs) {
+            all.put(userID, this.shards.get(userID));
+        }
+        return all;
+    }
+
+    /**
+     * evicts the shard of a User other than the logged-in User, unless it has unsaved modifications - those are
+     * evicted once saved
+     *
+     * @param userID UUID of a User
+     */
+    public void release(UUID userID) {
+        if (!userID.equals(this.activeUser) && !this.isDirty(userID)) {
+            this.shards.remove(userID);
+            this.savedModifications.remove(userID);
+        }
+    }
+
+    /**
+     * @param userID UUID of a User
+     * @return whether the shard of this User is loaded
+     */
+    public boolean isLoaded(UUID userID) {
+        return this.shards.containsKey(userID);
+    }
+
+    /**
+     * @param userID UUID of a User
+     * @return whether the shard of this User is loaded and modified since it was read or last saved
+     */
+    public boolean isDirty(UUID userID) {
+        EventManager shard = this.shards.get(userID);
+        return shard != null && shard.getModificationCount() != this.savedModifications.get(userID);
+    }
+
+    /**
+     * @return the UUIDs of the Users whose shards are dirty
+     */
+    public Set<UUID> getDirtyShards() {
+        Set<UUID> dirty = new HashSet<>();
+        for (UUID userID : this.shards.keySet()) {
+            if (this.isDirty(userID)) {
+                dirty.add(userID);
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * puts the events and recursions of every dirty shard into the maps of all Users' events and recursions (leaving
+     * the entries of other Users as they are), then marks those shards saved and evicts the ones that were released
+     *
+     * @param events          map of UUID of users to list of their events
+     * @param recursiveEvents map of UUID of users to their recursions by UUID
+     * @return whether any shard was dirty (if not, the maps are unchanged and do not need to be written)
+     */
+    public boolean saveDirtyShards(Map<UUID, List<Event>> events, Map<UUID, Map<UUID, RecursiveEvent>> recursiveEvents) {
+        Set<UUID> dirty = this.getDirtyShards();
+        for (UUID userID : dirty) {
+            EventManager shard = this.shards.get(userID);
+            events.put(userID, shard.getDefaultEventInfoGetter().getAllEvents());
+            recursiveEvents.put(userID, shard.getRepeatedEventManager().getRecursiveEventMap());
+            this.savedModifications.put(userID, shard.getModificationCount());
+            if (!userID.equals(this.activeUser)) {
+                this.release(userID);
+            }
+        }
+        return !dirty.isEmpty();
+    }
+
+    private void put(UUID userID, EventManager shard) {
+        this.shards.put(userID, shard);
+        this.savedModifications.put(userID, shard.getModificationCount());
+    }
+}
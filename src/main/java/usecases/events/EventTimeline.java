@@ -0,0 +1,167 @@
+package usecases.events;
+
+import entities.Event;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the times of a list of Events, stored as parallel arrays ordered by start time: the start and
+ * end of each Event in minutes since the epoch (see <code>Event.getStartMinute</code>), its ID, and the index of each
+ * Event in the list the timeline was built from. Scans over a timeline compare longs and allocate nothing, and as the
+ * snapshot does not read the Events again (except through <code>getEvent</code>) it can be read from any thread.
+ * <p>
+ * Events without a start time have the same start and end (their end time).
+ *
+ * @see EventManager#getTimeline()
+ */
+public class EventTimeline {
+    private final List<Event> events;
+    private final long[] starts;
+    private final long[] ends;
+    private final int[] index;
+    private final UUID[] ids;
+    private final long[] maxEnds;
+
+    /**
+     * builds a timeline of the times of events. The list must not be modified while the timeline is in use
+     *
+     * @param events the Events to build the timeline from, in any order
+     */
+    public EventTimeline(List<Event> events) {
+        this.events = events;
+        int size = events.size();
+        this.starts = new long[size];
+        this.ends = new long[size];
+        this.index = new int[size];
+        this.ids = new UUID[size];
+        this.maxEnds = new long[size];
+        boolean ordered = true;
+        for (int i = 0; i < size; i++) {
+            this.starts[i] = events.get(i).getStartMinute();
+            if (i > 0 && this.starts[i] < this.starts[i - 1]) {
+                ordered = false;
+            }
+        }
+        if (ordered) {
+            for (int i = 0; i < size; i++) {
+                this.index[i] = i;
+                this.ends[i] = events.get(i).getEndMinute();
+                this.ids[i] = events.get(i).getID();
+            }
+            this.fillMaxEnds();
+            return;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        long[] unordered = Arrays.copyOf(this.starts, size);
+        Arrays.sort(order, Comparator.comparingLong(i -> unordered[i]));
+        for (int i = 0; i < size; i++) {
+            this.index[i] = order[i];
+            this.starts[i] = unordered[order[i]];
+            this.ends[i] = events.get(order[i]).getEndMinute();
+            this.ids[i] = events.get(order[i]).getID();
+        }
+        this.fillMaxEnds();
+    }
+
+    /**
+     * fills maxEnds with the latest end of the Events at or before each position, so that the first position that can
+     * overlap a time can be binary searched
+     */
+    private void fillMaxEnds() {
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < this.ends.length; i++) {
+            maxEnd = Math.max(maxEnd, this.ends[i]);
+            this.maxEnds[i] = maxEnd;
+        }
+    }
+
+    /**
+     * @return the number of Events in the timeline
+     */
+    public int size() {
+        return this.starts.length;
+    }
+
+    /**
+     * @param i position in the timeline (0 is the earliest start)
+     * @return start of the Event at position i in epoch minutes
+     */
+    public long getStart(int i) {
+        return this.starts[i];
+    }
+
+    /**
+     * @param i position in the timeline (0 is the earliest start)
+     * @return end of the Event at position i in epoch minutes
+     */
+    public long getEnd(int i) {
+        return this.ends[i];
+    }
+
+    /**
+     * @param i position in the timeline (0 is the earliest start)
+     * @return the index in the source list of the Event at position i
+     */
+    public int getIndex(int i) {
+        return this.index[i];
+    }
+
+    /**
+     * @param i position in the timeline (0 is the earliest start)
+     * @return the ID of the Event at position i
+     */
+    public UUID getID(int i) {
+        return this.ids[i];
+    }
+
+    /**
+     * @param i position in the timeline (0 is the earliest start)
+     * @return the Event at position i
+     */
+    public Event getEvent(int i) {
+        return this.events.get(this.index[i]);
+    }
+
+    /**
+     * @param minute a time in epoch minutes
+     * @return the first position in the timeline whose start is at or after minute (size() if there is none)
+     */
+    public int firstStartingFrom(long minute) {
+        int low = 0;
+        int high = this.starts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.starts[middle] < minute) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param minute a time in epoch minutes
+     * @return the first position in the timeline of an Event that could end at or after minute - no Event before it
+     * does (size() if there is none)
+     */
+    public int firstEndingFrom(long minute) {
+        int low = 0;
+        int high = this.maxEnds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.maxEnds[middle] < minute) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
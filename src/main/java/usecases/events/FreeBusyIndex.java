@@ -0,0 +1,201 @@
+package usecases.events;
+
+import entities.Event;
+import interfaces.EventListObserver;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Free/busy bitmaps of the days of an EventManager (and so of one user). Each day is 96 quarter hours packed into two
+ * longs: bit i of the day is set when an event, work session or repeated event with a start time covers any part of
+ * the i-th quarter hour. Deadlines (events with no start time) do not make time busy.
+ * <p>
+ * Bitmaps are built from the time index the first time a day is asked for and kept until an event on that day is
+ * indexed, removed, or its time changes - EventManager updates this index like <code>ConflictRegistry</code>. Checking
+ * whether a period is free, or finding the free periods in a range, then masks a few longs per day. As an event
+ * partly covering a quarter hour makes all of it busy, both are exact to the quarter hour.
+ *
+ * @see EventManager#getFreeBusyIndex()
+ */
+public class FreeBusyIndex implements EventListObserver {
+    private static final int MINUTES_PER_SLOT = 15;
+    private static final int SLOTS_PER_DAY = 96;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private final EventManager eventManager;
+    private final Map<Long, long[]> days = new HashMap<>();
+    private final Map<UUID, long[]> spans = new HashMap<>();
+
+    /**
+     * @param eventManager the EventManager whose days are indexed
+     */
+    public FreeBusyIndex(EventManager eventManager) {
+        this.eventManager = eventManager;
+    }
+
+    /**
+     * forgets the bitmaps of the days the changed event was on, and of the days it is on now
+     *
+     * @param addRemoveChange "add", "remove" or "change"
+     * @param changed         the event that was indexed, removed, or whose time changed
+     * @param eventManager    the eventManager that was updated
+     */
+    @Override
+    public void update(String addRemoveChange, Event changed, EventManager eventManager) {
+        long[] span = this.spans.remove(changed.getID());
+        if (span != null) {
+            this.invalidate(span[0], span[1]);
+        }
+        span = span(changed.getStartMinute(), changed.getEndMinute());
+        this.invalidate(span[0], span[1]);
+    }
+
+    /**
+     * forgets every bitmap
+     */
+    public void clear() {
+        this.days.clear();
+        this.spans.clear();
+    }
+
+    /**
+     * @param date a LocalDate
+     * @return the busy bits of the quarter hours of the day: bits 0-63 of the first long and 64-95 of the second
+     */
+    public long[] getDay(LocalDate date) {
+        return this.day(date.toEpochDay()).clone();
+    }
+
+    /**
+     * @param start start of a period
+     * @param end   end of a period
+     * @return whether no quarter hour of the period is busy
+     */
+    public boolean isFree(LocalDateTime start, LocalDateTime end) {
+        long startMinute = Event.toEpochMinute(start);
+        long endMinute = Event.toEpochMinute(end);
+        for (long epochDay = Math.floorDiv(startMinute, MINUTES_PER_DAY); epochDay * MINUTES_PER_DAY < endMinute;
+             epochDay++) {
+            long[] day = this.day(epochDay);
+            long from = startMinute - epochDay * MINUTES_PER_DAY;
+            long to = endMinute - epochDay * MINUTES_PER_DAY;
+            if ((day[0] & slots(from, to, 0)) != 0 || (day[1] & slots(from, to, 1)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * finds the periods of whole free quarter hours between start and end
+     *
+     * @param start start of the range
+     * @param end   end of the range
+     * @return map of key: start of each free period to value: its length in minutes, ordered by start
+     */
+    public Map<LocalDateTime, Long> freeSlots(LocalDateTime start, LocalDateTime end) {
+        Map<LocalDateTime, Long> freeSlots = new LinkedHashMap<>();
+        long startMinute = ceilSlot(Event.toEpochMinute(start));
+        // only whole quarter hours between start and end can be free
+        long endMinute = Math.floorDiv(Event.toEpochMinute(end), MINUTES_PER_SLOT) * MINUTES_PER_SLOT;
+        long runStart = -1;
+        long runEnd = -1;
+        for (long epochDay = Math.floorDiv(startMinute, MINUTES_PER_DAY); epochDay * MINUTES_PER_DAY < endMinute;
+             epochDay++) {
+            long dayStart = epochDay * MINUTES_PER_DAY;
+            long[] day = this.day(epochDay);
+            for (int word = 0; word < 2; word++) {
+                long free = ~day[word] & slots(startMinute - dayStart, endMinute - dayStart, word);
+                while (free != 0) {
+                    int first = Long.numberOfTrailingZeros(free);
+                    int length = Long.numberOfTrailingZeros(~(free >>> first));
+                    if (first + length == 64) {
+                        free = 0;
+                    } else {
+                        free &= -1L << (first + length);
+                    }
+                    long from = dayStart + (word * 64L + first) * MINUTES_PER_SLOT;
+                    long to = from + (long) length * MINUTES_PER_SLOT;
+                    if (from == runEnd) {
+                        runEnd = to;
+                    } else {
+                        if (runStart < runEnd) {
+                            freeSlots.put(Event.fromEpochMinute(runStart), runEnd - runStart);
+                        }
+                        runStart = from;
+                        runEnd = to;
+                    }
+                }
+            }
+        }
+        if (runStart < runEnd) {
+            freeSlots.put(Event.fromEpochMinute(runStart), runEnd - runStart);
+        }
+        return freeSlots;
+    }
+
+    /**
+     * @return the bitmap of a day, built from the time index if it is not kept
+     */
+    private long[] day(long epochDay) {
+        long[] day = this.days.get(epochDay);
+        if (day != null) {
+            return day;
+        }
+        day = new long[2];
+        long dayStart = epochDay * MINUTES_PER_DAY;
+        LocalDateTime from = Event.fromEpochMinute(dayStart);
+        for (Event event : this.eventManager.query(from, from.plusDays(1))) {
+            long start = event.getStartMinute();
+            long end = event.getEndMinute();
+            if (event.hasStart() && start < end && start < dayStart + MINUTES_PER_DAY && end > dayStart) {
+                day[0] |= slots(start - dayStart, end - dayStart, 0);
+                day[1] |= slots(start - dayStart, end - dayStart, 1);
+                this.spans.put(event.getID(), span(start, end));
+            }
+        }
+        this.days.put(epochDay, day);
+        return day;
+    }
+
+    /**
+     * forgets the kept bitmaps of the days from firstDay to lastDay
+     */
+    private void invalidate(long firstDay, long lastDay) {
+        if (lastDay - firstDay >= this.days.size()) {
+            this.days.keySet().removeIf(epochDay -> firstDay <= epochDay && epochDay <= lastDay);
+        } else {
+            for (long epochDay = firstDay; epochDay <= lastDay; epochDay++) {
+                this.days.remove(epochDay);
+            }
+        }
+    }
+
+    /**
+     * @return the first and last epoch day of the period [start, end]
+     */
+    private static long[] span(long start, long end) {
+        long lastMinute = end > start ? end - 1 : end;
+        return new long[]{Math.floorDiv(start, MINUTES_PER_DAY), Math.floorDiv(lastMinute, MINUTES_PER_DAY)};
+    }
+
+    /**
+     * @return the bits in the given word (0 or 1) of the quarter hours of a day that the period [from, to) (in minutes
+     * from the start of the day) covers any part of
+     */
+    private static long slots(long from, long to, int word) {
+        long first = Math.max(0, Math.floorDiv(from, MINUTES_PER_SLOT) - word * 64L);
+        long last = Math.min(word == 0 ? 64 : SLOTS_PER_DAY - 64,
+                Math.floorDiv(to + MINUTES_PER_SLOT - 1, MINUTES_PER_SLOT) - word * 64L);
+        if (first >= last) {
+            return 0;
+        }
+        long upTo = last == 64 ? -1L : (1L << last) - 1;
+        return upTo & (-1L << first);
+    }
+
+    private static long ceilSlot(long minute) {
+        return Math.floorDiv(minute + MINUTES_PER_SLOT - 1, MINUTES_PER_SLOT) * MINUTES_PER_SLOT;
+    }
+}
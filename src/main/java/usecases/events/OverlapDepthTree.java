@@ -0,0 +1,245 @@
+package usecases.events;
+
+import entities.Event;
+import interfaces.EventListObserver;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Overlap depth of the events, work sessions and repeated events of an EventManager: how many of them are happening
+ * at the same time, at every minute. A segment tree over the minutes since the epoch (adding one to the minutes an
+ * event covers, and keeping the maximum depth of each range of minutes) answers the deepest overlap in a range, and
+ * where it is, walking down the 41 levels of the tree. Nodes are only allocated for ranges some event starts or ends
+ * inside of, so adding, moving or removing an event is a range update of the same cost, whatever its times.
+ * <p>
+ * An event is happening from its start up to, but not at, its end, so events that only touch do not add to each other's
+ * depth - depth above one is where <code>IsOverlapped.overlaps</code> is true for events with a length. Deadlines and
+ * events with no length are not counted. EventManager updates this tree like <code>ConflictRegistry</code>; the tree
+ * is only rebuilt when events share an ID, or to drop the nodes left behind by many updates.
+ *
+ * @see EventManager#getOverlapDepthTree()
+ */
+public class OverlapDepthTree implements EventListObserver {
+    // the minutes covered by the tree, about two million years either side of the epoch
+    private static final long LOWEST = -(1L << 40);
+    private static final long HIGHEST = (1L << 40) - 1;
+    private static final long NONE = Long.MIN_VALUE;
+    private final EventManager eventManager;
+    private final Map<UUID, long[]> spans = new HashMap<>();
+    private final Set<UUID> shared = new HashSet<>();
+    // node 0 stands for every missing node: a subtree no event starts or ends inside of, with the same depth throughout
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    private int[] max = new int[0];
+    private int[] add = new int[0];
+    private int size;
+    private int builtSize;
+    private boolean stale = true;
+
+    /**
+     * @param eventManager the EventManager whose events are counted
+     */
+    public OverlapDepthTree(EventManager eventManager) {
+        this.eventManager = eventManager;
+    }
+
+    /**
+     * moves the changed event to its new minutes
+     *
+     * @param addRemoveChange "add", "remove" or "change"
+     * @param changed         the event that was indexed, removed, or whose time changed
+     * @param eventManager    the eventManager that was updated
+     */
+    @Override
+    public void update(String addRemoveChange, Event changed, EventManager eventManager) {
+        if (this.stale) {
+            return;
+        }
+        if (this.shared.contains(changed.getID()) ||
+                (addRemoveChange.equalsIgnoreCase("add") && this.spans.containsKey(changed.getID())) ||
+                this.size > 2 * this.builtSize + (1 << 16)) {
+            // the minutes of events indexed more than once under the same ID are not kept apart
+            this.clear();
+            return;
+        }
+        long[] span = this.spans.remove(changed.getID());
+        if (span != null) {
+            this.add(1, LOWEST, HIGHEST, span[0], span[1], -1);
+        }
+        if (addRemoveChange.equalsIgnoreCase("remove") || !counts(changed)) {
+            return;
+        }
+        span = span(changed);
+        this.spans.put(changed.getID(), span);
+        this.add(1, LOWEST, HIGHEST, span[0], span[1], 1);
+    }
+
+    /**
+     * marks the tree to be rebuilt at the next query
+     */
+    public void clear() {
+        this.stale = true;
+        this.spans.clear();
+        this.shared.clear();
+    }
+
+    /**
+     * @param from start of the range
+     * @param to   end of the range
+     * @return the largest number of events happening at the same time in the range [from, to)
+     */
+    public int maxDepth(LocalDateTime from, LocalDateTime to) {
+        long[] range = this.range(from, to);
+        return range == null ? 0 : this.max(1, LOWEST, HIGHEST, range[0], range[1]);
+    }
+
+    /**
+     * @param from start of the range
+     * @param to   end of the range
+     * @return the first time in the range [from, to) when the most events are happening at the same time, or null if
+     * no event is happening in the range
+     */
+    public LocalDateTime findPeak(LocalDateTime from, LocalDateTime to) {
+        long[] range = this.range(from, to);
+        if (range == null) {
+            return null;
+        }
+        int depth = this.max(1, LOWEST, HIGHEST, range[0], range[1]);
+        if (depth == 0) {
+            return null;
+        }
+        return Event.fromEpochMinute(this.first(1, LOWEST, HIGHEST, range[0], range[1], depth));
+    }
+
+    /**
+     * @return the first and last minute of the range [from, to), or null if it is empty, rebuilding the tree first if
+     * it is stale
+     */
+    private long[] range(LocalDateTime from, LocalDateTime to) {
+        if (this.stale) {
+            this.build();
+        }
+        long first = Math.max(Event.toEpochMinute(from), LOWEST);
+        long last = Math.min(Event.toEpochMinute(to) - 1, HIGHEST);
+        return first > last ? null : new long[]{first, last};
+    }
+
+    /**
+     * counts every event with a start time and a length again, in a new tree
+     */
+    private void build() {
+        this.spans.clear();
+        this.shared.clear();
+        this.left = new int[64];
+        this.right = new int[64];
+        this.max = new int[64];
+        this.add = new int[64];
+        this.size = 1;
+        this.allocate();
+        for (Event event : this.eventManager.getAllEventsOrdered()) {
+            if (counts(event)) {
+                long[] span = span(event);
+                if (this.spans.put(event.getID(), span) != null) {
+                    this.shared.add(event.getID());
+                }
+                this.add(1, LOWEST, HIGHEST, span[0], span[1], 1);
+            }
+        }
+        this.builtSize = this.size;
+        this.stale = false;
+    }
+
+    /**
+     * @return the index of a new node with depth 0 throughout and no children
+     */
+    private int allocate() {
+        if (this.size == this.max.length) {
+            this.left = Arrays.copyOf(this.left, 2 * this.size);
+            this.right = Arrays.copyOf(this.right, 2 * this.size);
+            this.max = Arrays.copyOf(this.max, 2 * this.size);
+            this.add = Arrays.copyOf(this.add, 2 * this.size);
+        }
+        return this.size++;
+    }
+
+    /**
+     * adds value to the depth of the minutes first to last in the subtree of node, which covers minutes low to high
+     */
+    private void add(int node, long low, long high, long first, long last, int value) {
+        if (last < low || high < first) {
+            return;
+        }
+        if (first <= low && high <= last) {
+            this.max[node] += value;
+            this.add[node] += value;
+            return;
+        }
+        long middle = (low + high) >> 1;
+        if (first <= middle) {
+            if (this.left[node] == 0) {
+                int child = this.allocate();
+                this.left[node] = child;
+            }
+            this.add(this.left[node], low, middle, first, last, value);
+        }
+        if (middle < last) {
+            if (this.right[node] == 0) {
+                int child = this.allocate();
+                this.right[node] = child;
+            }
+            this.add(this.right[node], middle + 1, high, first, last, value);
+        }
+        this.max[node] = Math.max(this.max[this.left[node]], this.max[this.right[node]]) + this.add[node];
+    }
+
+    /**
+     * @return the largest depth of the minutes first to last in the subtree of node, which covers minutes low to high
+     */
+    private int max(int node, long low, long high, long first, long last) {
+        if (node == 0 || (first <= low && high <= last)) {
+            return this.max[node];
+        }
+        long middle = (low + high) >> 1;
+        int deepest = Integer.MIN_VALUE;
+        if (first <= middle) {
+            deepest = this.max(this.left[node], low, middle, first, last);
+        }
+        if (middle < last) {
+            deepest = Math.max(deepest, this.max(this.right[node], middle + 1, high, first, last));
+        }
+        return deepest + this.add[node];
+    }
+
+    /**
+     * @return the first of the minutes first to last in the subtree of node with the given depth (counted from the
+     * subtree), or NONE if there is none
+     */
+    private long first(int node, long low, long high, long first, long last, int depth) {
+        if (last < low || high < first || this.max[node] < depth) {
+            return NONE;
+        }
+        if (this.left[node] == 0 && this.right[node] == 0) {
+            // the same depth throughout
+            return Math.max(low, first);
+        }
+        long middle = (low + high) >> 1;
+        long found = this.first(this.left[node], low, middle, first, last, depth - this.add[node]);
+        return found != NONE ? found : this.first(this.right[node], middle + 1, high, first, last,
+                depth - this.add[node]);
+    }
+
+    /**
+     * @return the first and last minute the event is happening, within the minutes covered by the tree
+     */
+    private static long[] span(Event event) {
+        return new long[]{Math.max(event.getStartMinute(), LOWEST), Math.min(event.getEndMinute() - 1, HIGHEST)};
+    }
+
+    /**
+     * @return whether the event adds to the depth: it has a start time, and ends after it
+     */
+    private static boolean counts(Event event) {
+        return event.hasStart() && event.getStartMinute() < event.getEndMinute();
+    }
+}
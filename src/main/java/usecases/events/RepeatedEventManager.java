@@ -3,7 +3,9 @@ package usecases.events;
 import entities.Event;
 import entities.recursions.RecursiveEvent;
 import helpers.EventHelper;
+import helpers.PeriodicConflict;
 import interfaces.EventListObserver;
+import interfaces.RecursionObserver;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -24,6 +26,9 @@ public class RepeatedEventManager implements EventListObserver {
     private Map<UUID, RecursiveEvent> recursiveEventMap;
     private Map<UUID, Map<LocalDateTime, List<Event>>> recursiveIdToDateToEventsMap;
     private EventHelper eventHelper = new EventHelper();
+    private RecursionObserver recursionObserver;
+    private final Map<UUID, Event> eventIndex = new HashMap<>();
+    private final Map<UUID, List<Event>> indexedRecursionEvents = new HashMap<>();
 
 
     /**
@@ -49,6 +54,7 @@ public class RepeatedEventManager implements EventListObserver {
             int cycleLength = recursiveEvent.getCycleLength();
             List<Event> allEvents = recursiveEvent.listOfEventsInCycles(recursiveEvent.getEventsInOneCycle());
             recursiveIdToDateToEventsMap.put(uuid, eventListToMap(allEvents, cycleLength));
+            this.recursionChanged(uuid);
         }
     }
 
@@ -60,6 +66,60 @@ public class RepeatedEventManager implements EventListObserver {
         return recursiveIdToDateToEventsMap;}
     public Map<UUID, RecursiveEvent> getRecursiveEventMap() {return recursiveEventMap;}
 
+    /**
+     * Sets the observer to be notified whenever the events of a recursion are created or rebuilt, and notifies it of
+     * every recursion already stored.
+     *
+     * @param recursionObserver the observer of the events in this repeated event manager.
+     */
+    public void setRecursionObserver(RecursionObserver recursionObserver){
+        this.recursionObserver = recursionObserver;
+        for (UUID uuid : this.recursiveIdToDateToEventsMap.keySet()){
+            this.recursionObserver.updateRecursion(uuid, this.indexedRecursionEvents.get(uuid));
+        }
+    }
+
+    /**
+     * Stores the events of a recursion, replacing the ones already there, and notifies the recursion observer.
+     *
+     * @param recursiveId the uuid of the recursive event.
+     * @param datesAndEvents a map with the date of the first event of each cycle as keys, and the events in that cycle
+     *                       as values.
+     */
+    public void putRecursionEvents(UUID recursiveId, Map<LocalDateTime, List<Event>> datesAndEvents){
+        this.recursiveIdToDateToEventsMap.put(recursiveId, datesAndEvents);
+        this.recursionChanged(recursiveId);
+    }
+
+    /**
+     * Re-indexes the events currently in the recursion with this id by their uuid, and notifies the recursion observer
+     * (if there is one) of them.
+     *
+     * @param recursiveId the uuid of the recursive event that has been modified.
+     */
+    private void recursionChanged(UUID recursiveId){
+        List<Event> previous = this.indexedRecursionEvents.remove(recursiveId);
+        if (previous != null){
+            for (Event event : previous){
+                this.eventIndex.remove(event.getID(), event);
+            }
+        }
+        List<Event> events = new ArrayList<>();
+        Map<LocalDateTime, List<Event>> dateEventMap = this.recursiveIdToDateToEventsMap.get(recursiveId);
+        if (dateEventMap != null){
+            for (List<Event> cycle : dateEventMap.values()){
+                events.addAll(cycle);
+            }
+        }
+        for (Event event : events){
+            this.eventIndex.put(event.getID(), event);
+        }
+        this.indexedRecursionEvents.put(recursiveId, events);
+        if (this.recursionObserver != null){
+            this.recursionObserver.updateRecursion(recursiveId, events);
+        }
+    }
+
     /**
      * Adds a recursive event to the two maps of the repeated event manager in the appropriate way.
      *
@@ -70,25 +130,17 @@ public class RepeatedEventManager implements EventListObserver {
         List<Event> events = recursiveEvent.listOfEventsInCycles(recursiveEvent.getEventsInOneCycle());
         this.recursiveIdToDateToEventsMap.put(recursiveEvent.getId(), eventListToMap(events,
                 recursiveEvent.getCycleLength()));
+        this.recursionChanged(recursiveEvent.getId());
     }
 
     /**
-     * This method search all events in the repeated event manager and returns the event who matches the ID uuid (if
-     * there is one).
+     * This method looks up the event who matches the ID uuid (if there is one) among the events of all recursions in
+     * the repeated event manager.
      * @param uuid the ID of the event of interest
      * @return the events with ID uuid, or null if there is no such event in any recursion.
      */
     public Event getThisEventFromRecursion(UUID uuid){
-        for(UUID uuid1 : this.recursiveIdToDateToEventsMap.keySet()){
-            for(List<Event> events : this.recursiveIdToDateToEventsMap.get(uuid1).values()){
-                for(Event event : events){
-                    if(event.getID() == uuid){
-                        return event;
-                    }
-                }
-            }
-        }
-        return null;
+        return this.eventIndex.get(uuid);
     }
 
     /**
@@ -190,6 +242,20 @@ public class RepeatedEventManager implements EventListObserver {
         return recursiveEvent.getId();
     }
 
+    /**
+     *
+     * @param id1 the id of a recursive event.
+     * @param id2 the id of another recursive event.
+     * @return the start of the first and of the last conflict between events of the two recursions, or null if they
+     * never conflict (or either id is not a recursion)
+     */
+    public LocalDateTime[] getConflict(UUID id1, UUID id2){
+        if (!this.recursiveEventMap.containsKey(id1) || !this.recursiveEventMap.containsKey(id2)) {
+            return null;
+        }
+        return PeriodicConflict.find(this.recursiveEventMap.get(id1), this.recursiveEventMap.get(id2));
+    }
+
     /**
      *
      * @param id the id of the recursive event of interest.
@@ -293,6 +359,8 @@ public class RepeatedEventManager implements EventListObserver {
         this.recursiveIdToDateToEventsMap.get(uuid).put(eventHelper.startTimeGetter(newCycles.get(0)),
                 newCycles.subList(0,newCycles.size() - 1));
         recursionModifier(changed, id, newCycles);
+        this.recursionChanged(id);
+        this.recursionChanged(uuid);
     }
 
     /**
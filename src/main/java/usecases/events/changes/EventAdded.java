@@ -0,0 +1,23 @@
+package usecases.events.changes;
+
+import entities.Event;
+
+/**
+ * An Event was added to an EventManager
+ */
+public class EventAdded extends EventChange {
+    /**
+     * @param event the Event that was added
+     */
+    public EventAdded(Event event) {
+        super(event, null, EventInterval.of(event));
+    }
+
+    /**
+     * @param event the Event that was added
+     * @param after its interval when it was added
+     */
+    public EventAdded(Event event, EventInterval after) {
+        super(event, null, after);
+    }
+}
@@ -0,0 +1,61 @@
+package usecases.events.changes;
+
+import entities.Event;
+
+import java.util.UUID;
+
+/**
+ * A change to an Event in an EventManager, published through an EventChangeBus. Each kind of change is its own
+ * subclass: EventAdded, EventRemoved, EventTimeChanged, WorkSessionsChanged and RecursionChanged. Changes carry the
+ * interval of the Event before and after the change, captured when the change was published, so subscribers do not
+ * need to read the (possibly since modified) Event to know what changed.
+ * <p>
+ * A RecursionChanged is not a change to one Event: its <code>getEvent</code> is null and its intervals are null.
+ * Every other change has an Event
+ *
+ * @see EventChangeBus
+ */
+public abstract class EventChange {
+    private final Event event;
+    private final EventInterval before;
+    private final EventInterval after;
+
+    /**
+     * @param event  the Event that changed, or null if the change is not to one Event (only for RecursionChanged)
+     * @param before the interval of the Event before the change, or null if it did not exist
+     * @param after  the interval of the Event after the change, or null if it no longer exists
+     */
+    protected EventChange(Event event, EventInterval before, EventInterval after) {
+        this.event = event;
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * @return the Event that changed, or null for a RecursionChanged
+     */
+    public Event getEvent() {
+        return this.event;
+    }
+
+    /**
+     * @return the UUID of the Event that changed (of the recursion for a RecursionChanged)
+     */
+    public UUID getEventID() {
+        return this.event.getID();
+    }
+
+    /**
+     * @return the interval of the Event before the change, or null if it was added
+     */
+    public EventInterval getBefore() {
+        return this.before;
+    }
+
+    /**
+     * @return the interval of the Event after the change, or null if it was removed
+     */
+    public EventInterval getAfter() {
+        return this.after;
+    }
+}
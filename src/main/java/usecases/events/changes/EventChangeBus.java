@@ -0,0 +1,149 @@
+package usecases.events.changes;
+
+import entities.Event;
+import interfaces.EventChangeListener;
+import usecases.events.EventManager;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers the typed changes made to an EventManager to its subscribers.
+ * <p>
+ * Subscribers (e.g. indexes that must stay consistent with the EventManager) are called on the mutating thread, before
+ * the mutating method returns. Changes made in a batch (see <code>EventManager.beginBatch</code>) are coalesced (see
+ * <code>coalesce</code>) and delivered in one call when the batch is committed, so a burst of edits costs a subscriber
+ * one update.
+ *
+ * @see EventManager#getChangeBus()
+ */
+public class EventChangeBus {
+    private final EventManager eventManager;
+    private final List<EventChangeListener> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param eventManager the EventManager whose changes are published, passed to subscribers
+     */
+    public EventChangeBus(EventManager eventManager) {
+        this.eventManager = eventManager;
+    }
+
+    /**
+     * subscribes a listener to be called with every change
+     *
+     * @param listener the listener to subscribe
+     */
+    public void subscribe(EventChangeListener listener) {
+        this.subscribers.add(listener);
+    }
+
+    /**
+     * unsubscribes a listener
+     *
+     * @param listener the listener to unsubscribe
+     */
+    public void unsubscribe(EventChangeListener listener) {
+        this.subscribers.remove(listener);
+    }
+
+    /**
+     * delivers changes to every subscriber
+     *
+     * @param changes the changes to publish, in the order they happened
+     */
+    public void publish(List<EventChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (EventChangeListener listener : this.subscribers) {
+            listener.changed(changes, this.eventManager);
+        }
+    }
+
+    /**
+     * delivers a single change to every subscriber
+     *
+     * @param change the change to publish
+     */
+    public void publish(EventChange change) {
+        this.publish(List.of(change));
+    }
+
+    /**
+     * combines a sequence of changes into at most one time change (EventAdded, EventRemoved or EventTimeChanged) and
+     * one WorkSessionsChanged per event, and one RecursionChanged per recursion, with the same net effect. An event
+     * added then removed produces no changes, removed then added produces an EventTimeChanged, and consecutive time
+     * changes keep the first before and last after interval. Work session changes of an event that ends up removed
+     * are dropped
+     *
+     * @param changes the changes in the order they happened
+     * @return the coalesced changes, ordered by the first change to each event
+     */
+    public static List<EventChange> coalesce(List<EventChange> changes) {
+        Map<UUID, EventChange> times = new LinkedHashMap<>();
+        Map<UUID, WorkSessionsChanged> sessions = new LinkedHashMap<>();
+        Map<UUID, RecursionChanged> recursions = new LinkedHashMap<>();
+        Set<UUID> gone = new HashSet<>();
+        for (EventChange change : changes) {
+            UUID eventID = change.getEventID();
+            if (change instanceof WorkSessionsChanged) {
+                WorkSessionsChanged previous = sessions.get(eventID);
+                WorkSessionsChanged next = (WorkSessionsChanged) change;
+                sessions.put(eventID, previous == null ? next : new WorkSessionsChanged(next.getEvent(),
+                        previous.getBeforeSessions(), next.getAfterSessions()));
+                continue;
+            }
+            if (change instanceof RecursionChanged) {
+                RecursionChanged previous = recursions.get(eventID);
+                RecursionChanged next = (RecursionChanged) change;
+                recursions.put(eventID, previous == null ? next : new RecursionChanged(eventID,
+                        previous.getBeforeInstances(), next.getAfterInstances()));
+                continue;
+            }
+            EventChange merged = merge(times.get(eventID), change);
+            if (merged == null) {
+                times.remove(eventID);
+                gone.add(eventID);
+            } else {
+                times.put(eventID, merged);
+                if (merged instanceof EventRemoved) {
+                    gone.add(eventID);
+                } else {
+                    gone.remove(eventID);
+                }
+            }
+        }
+        List<EventChange> coalesced = new ArrayList<>(times.values());
+        for (WorkSessionsChanged change : sessions.values()) {
+            if (!gone.contains(change.getEventID())) {
+                coalesced.add(change);
+            }
+        }
+        coalesced.addAll(recursions.values());
+        return coalesced;
+    }
+
+    /**
+     * @return the change with the net effect of two time changes of one Event, or null if there is none
+     * @throws IllegalArgumentException if either change is not to one Event
+     */
+    private static EventChange merge(EventChange previous, EventChange next) {
+        Event event = next.getEvent();
+        if (event == null || previous != null && previous.getEvent() == null) {
+            throw new IllegalArgumentException("only changes to one Event can be merged");
+        }
+        if (previous == null) {
+            return next;
+        }
+        if (previous instanceof EventAdded) {
+            if (next instanceof EventRemoved) {
+                return null;
+            }
+            return new EventAdded(event, next.getAfter());
+        }
+        if (next instanceof EventRemoved) {
+            return new EventRemoved(event, previous.getBefore());
+        }
+        return new EventTimeChanged(event, previous.getBefore(), next.getAfter());
+    }
+}
@@ -0,0 +1,75 @@
+package usecases.events.changes;
+
+import entities.Event;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Immutable start and end of an Event at some point in time, in minutes since the epoch. An Event without a start
+ * time has the same start and end (its end time)
+ *
+ * @see Event#getStartMinute()
+ */
+public class EventInterval {
+    private final long startMinute;
+    private final long endMinute;
+
+    /**
+     * @param startMinute start in epoch minutes
+     * @param endMinute   end in epoch minutes
+     */
+    public EventInterval(long startMinute, long endMinute) {
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+    }
+
+    /**
+     * @param event any Event
+     * @return the current start and end of the Event
+     */
+    public static EventInterval of(Event event) {
+        return new EventInterval(event.getStartMinute(), event.getEndMinute());
+    }
+
+    public long getStartMinute() {
+        return this.startMinute;
+    }
+
+    public long getEndMinute() {
+        return this.endMinute;
+    }
+
+    /**
+     * @return the start as a LocalDateTime
+     */
+    public LocalDateTime getStart() {
+        return Event.fromEpochMinute(this.startMinute);
+    }
+
+    /**
+     * @return the end as a LocalDateTime
+     */
+    public LocalDateTime getEnd() {
+        return Event.fromEpochMinute(this.endMinute);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof EventInterval)) {
+            return false;
+        }
+        EventInterval other = (EventInterval) object;
+        return this.startMinute == other.startMinute && this.endMinute == other.endMinute;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.startMinute, this.endMinute);
+    }
+
+    @Override
+    public String toString() {
+        return this.getStart() + " - " + this.getEnd();
+    }
+}
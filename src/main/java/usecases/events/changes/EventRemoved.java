@@ -0,0 +1,23 @@
+package usecases.events.changes;
+
+import entities.Event;
+
+/**
+ * An Event was removed from an EventManager
+ */
+public class EventRemoved extends EventChange {
+    /**
+     * @param event the Event that was removed
+     */
+    public EventRemoved(Event event) {
+        super(event, EventInterval.of(event), null);
+    }
+
+    /**
+     * @param event  the Event that was removed
+     * @param before its interval before it was removed
+     */
+    public EventRemoved(Event event, EventInterval before) {
+        super(event, before, null);
+    }
+}
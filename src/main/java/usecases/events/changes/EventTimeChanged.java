@@ -0,0 +1,17 @@
+package usecases.events.changes;
+
+import entities.Event;
+
+/**
+ * The start or end time of an Event in an EventManager changed
+ */
+public class EventTimeChanged extends EventChange {
+    /**
+     * @param event  the Event whose time changed
+     * @param before its interval before the change
+     * @param after  its interval after the change
+     */
+    public EventTimeChanged(Event event, EventInterval before, EventInterval after) {
+        super(event, before, after);
+    }
+}
@@ -0,0 +1,51 @@
+package usecases.events.changes;
+
+import entities.Event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The events expanded from a recursion of an EventManager were created, rebuilt or removed. Unlike other changes
+ * this is not a change to one Event: <code>getEvent</code> is null, <code>getEventID</code> is the UUID of the
+ * recursion, and the intervals are null
+ */
+public class RecursionChanged extends EventChange {
+    private final UUID recursiveId;
+    private final List<Event> beforeInstances;
+    private final List<Event> afterInstances;
+
+    /**
+     * @param recursiveId     the UUID of the recursion
+     * @param beforeInstances the events of the recursion before the change
+     * @param afterInstances  the events of the recursion after the change
+     */
+    public RecursionChanged(UUID recursiveId, List<Event> beforeInstances, List<Event> afterInstances) {
+        super(null, null, null);
+        this.recursiveId = recursiveId;
+        this.beforeInstances = List.copyOf(beforeInstances);
+        this.afterInstances = List.copyOf(afterInstances);
+    }
+
+    /**
+     * @return the UUID of the recursion
+     */
+    @Override
+    public UUID getEventID() {
+        return this.recursiveId;
+    }
+
+    /**
+     * @return unmodifiable list of the events of the recursion before the change
+     */
+    public List<Event> getBeforeInstances() {
+        return this.beforeInstances;
+    }
+
+    /**
+     * @return unmodifiable list of the events of the recursion after the change
+     */
+    public List<Event> getAfterInstances() {
+        return this.afterInstances;
+    }
+}
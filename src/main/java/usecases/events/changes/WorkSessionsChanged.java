@@ -0,0 +1,39 @@
+package usecases.events.changes;
+
+import entities.Event;
+
+import java.util.List;
+
+/**
+ * The work sessions of an Event in an EventManager were added to, removed from, or replaced. The interval of the
+ * Event itself is unchanged
+ */
+public class WorkSessionsChanged extends EventChange {
+    private final List<Event> beforeSessions;
+    private final List<Event> afterSessions;
+
+    /**
+     * @param event          the Event whose work sessions changed
+     * @param beforeSessions the work sessions of the Event before the change
+     * @param afterSessions  the work sessions of the Event after the change
+     */
+    public WorkSessionsChanged(Event event, List<Event> beforeSessions, List<Event> afterSessions) {
+        super(event, EventInterval.of(event), EventInterval.of(event));
+        this.beforeSessions = List.copyOf(beforeSessions);
+        this.afterSessions = List.copyOf(afterSessions);
+    }
+
+    /**
+     * @return unmodifiable list of the work sessions before the change
+     */
+    public List<Event> getBeforeSessions() {
+        return this.beforeSessions;
+    }
+
+    /**
+     * @return unmodifiable list of the work sessions after the change
+     */
+    public List<Event> getAfterSessions() {
+        return this.afterSessions;
+    }
+}
@@ -38,6 +38,7 @@ public class WorkSessionManager implements WorkSessionInfoGetter {
      */
     public void setWorkSessions(UUID ID, List<Event> sessions) {
         eventManager.get(ID).setWorkSessions(sessions);
+        eventManager.refreshWorkSessions(ID);
     }
 
     /**
@@ -62,6 +63,7 @@ public class WorkSessionManager implements WorkSessionInfoGetter {
      */
     public void removeWorkSession(UUID id, Event session) {
         getWorkSessions(id).remove(session);
+        eventManager.refreshWorkSessions(id);
     }
 
     /**
@@ -71,6 +73,7 @@ public class WorkSessionManager implements WorkSessionInfoGetter {
      */
     public void addWorkSession(UUID ID, LocalDateTime start, LocalDateTime end) {
         eventManager.get(ID).addWorkSession(start, end);
+        eventManager.refreshWorkSessions(ID);
     }
 
     /**
@@ -78,7 +81,7 @@ public class WorkSessionManager implements WorkSessionInfoGetter {
      * @param sessionLength Long new preferred length of work sessions for event
      */
     public void setSessionLength(UUID ID, Long sessionLength) {
-        eventManager.get(ID).setSessionLength(sessionLength);
+        eventManager.edit(ID, e -> e.setSessionLength(sessionLength));
     }
 
     /**
@@ -86,7 +89,7 @@ public class WorkSessionManager implements WorkSessionInfoGetter {
      * @param hoursNeeded Long
      */
     public void setHoursNeeded(UUID deadline, Long hoursNeeded) {
-        eventManager.get(deadline).setHoursNeeded(hoursNeeded);
+        eventManager.edit(deadline, e -> e.setHoursNeeded(hoursNeeded));
     }
 
     public double getHoursNeeded(UUID event) {
@@ -222,8 +225,9 @@ public class WorkSessionManager implements WorkSessionInfoGetter {
      * @param start new LocalDate startWorking
      */
     public void changeStartWorking(UUID event, LocalDate start) {
-        eventManager.get(event).setStartWorking(Duration.between(LocalDateTime.of(start, LocalTime.of(0, 0)),
-                LocalDateTime.of(eventManager.getDefaultEventInfoGetter().getEndDate(event), LocalTime.of(0, 0))).toDays());
+        long days = Duration.between(LocalDateTime.of(start, LocalTime.of(0, 0)),
+                LocalDateTime.of(eventManager.getDefaultEventInfoGetter().getEndDate(event), LocalTime.of(0, 0))).toDays();
+        eventManager.edit(event, e -> e.setStartWorking(days));
     }
 
     /**
@@ -233,7 +237,7 @@ public class WorkSessionManager implements WorkSessionInfoGetter {
      * @param date  new Long start
      */
     public void changeStartWorking(UUID event, Long date) {
-        eventManager.get(event).setStartWorking(date);
+        eventManager.edit(event, e -> e.setStartWorking(date));
     }
 
     @Override
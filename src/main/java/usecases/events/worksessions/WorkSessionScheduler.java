@@ -59,7 +59,7 @@ public class WorkSessionScheduler {
      */
     public void markInComplete(UUID event, UUID session, EventManager eventManager) {
         WorkSessionManager workSessionManager = new WorkSessionManager(eventManager);
-        workSessionManager.getWorkSessions(event).remove(eventManager.get(session));
+        workSessionManager.removeWorkSession(event, eventManager.get(session));
         this.autoSchedule(event, eventManager);
     }
 
@@ -86,7 +86,7 @@ public class WorkSessionScheduler {
         WorkSessionManager workSessionManager = new WorkSessionManager(eventManager);
         workSessionManager.setHoursNeeded(event, (long) (workSessionManager.getHoursNeeded(event) -
                 eventManager.getDefaultEventInfoGetter().getLength(eventManager.get(session))));
-        workSessionManager.getWorkSessions(event).remove(eventManager.get(session));
+        workSessionManager.removeWorkSession(event, eventManager.get(session));
 
         this.autoSchedule(event, eventManager);
     }
@@ -185,10 +185,10 @@ public class WorkSessionScheduler {
         if (toMerge != null) {
             workSessionManager.removeWorkSession(deadline, newSession);
             workSessionManager.removeWorkSession(deadline, toMerge);
-            if (eventManager.getDefaultEventInfoGetter().getStart(newSession).isBefore(eventManager.getDefaultEventInfoGetter().getStart(toMerge))) {
-                workSessionManager.addWorkSession(deadline, eventManager.getDefaultEventInfoGetter().getStart(newSession), eventManager.getDefaultEventInfoGetter().getEnd(toMerge));
+            if (newSession.getStartTime().isBefore(toMerge.getStartTime())) {
+                workSessionManager.addWorkSession(deadline, newSession.getStartTime(), toMerge.getEndTime());
             } else {
-                workSessionManager.addWorkSession(deadline, eventManager.getDefaultEventInfoGetter().getStart(toMerge), eventManager.getDefaultEventInfoGetter().getEnd(newSession));
+                workSessionManager.addWorkSession(deadline, toMerge.getStartTime(), newSession.getEndTime());
             }
             mergeSessions(deadline, eventManager, workSessionManager.getWorkSessions(deadline).get(workSessionManager.getWorkSessions(deadline).size() - 1));
         }
@@ -298,8 +298,8 @@ public class WorkSessionScheduler {
     private Event sessionAdjacent(UUID deadline, EventManager eventManager, Event newSession) {
         WorkSessionManager workSessionManager = new WorkSessionManager(eventManager);
         for (Event session : workSessionManager.getWorkSessions(deadline)) {
-            if (eventManager.getDefaultEventInfoGetter().getEnd(session).isEqual(eventManager.getDefaultEventInfoGetter().getStart(newSession)) || eventManager.getDefaultEventInfoGetter().getStart(
-                    session).isEqual(eventManager.getDefaultEventInfoGetter().getEnd(newSession))) {
+            if (session.getEndTime().isEqual(newSession.getStartTime()) || session.getStartTime().isEqual(
+                    newSession.getEndTime())) {
                 return session;
             }
         }
@@ -6,6 +6,7 @@ import usecases.events.EventManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,8 +51,8 @@ public class DefaultTimeGetter implements TimeGetter {
     }
 
     /**
-     * adds free time every day and a block of time around the current hour to a schedule as events and returns the schedule
-     * in time order
+     * adds free time every day and a block of time around the current hour to the events between start and the date of
+     * deadline, and returns the schedule in time order
      *
      * @param eventManager EventManager UUID deadline stored in
      * @param start        the date to get the start of the schedule from
@@ -61,7 +62,11 @@ public class DefaultTimeGetter implements TimeGetter {
      */
     @Override
     public List<Event> getListSchedule(EventManager eventManager, LocalDate start, UUID deadline) {
-        List<Event> schedule = eventManager.getAllEventsFlatSplit();
+        List<Event> schedule = new ArrayList<>();
+        for (Event event : eventManager.query(LocalDateTime.of(start, LocalTime.MIN), LocalDateTime.of(
+                eventManager.getDefaultEventInfoGetter().getEndDate(deadline), LocalTime.MAX))) {
+            schedule.addAll(eventManager.splitByDay(event));
+        }
         schedule.add(new Event(UUID.randomUUID(), "now", LocalDateTime.of(LocalDate.now(), LocalTime.of(
                 LocalTime.now().getHour(), 0)), LocalDateTime.of(LocalDate.now(), LocalTime.of(LocalTime.now().
                 plusHours(1).getHour(), 0))));
@@ -2,8 +2,8 @@ package usecases.events.worksessions.strategies.TimeGetters;
 
 import entities.Event;
 import usecases.events.EventManager;
+import usecases.events.EventTimeline;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -43,44 +43,46 @@ public interface TimeGetter {
                                                UUID deadline) {
         // Schedule in a form of a list
         List<Event> schedule = this.getListSchedule(eventManager, start.toLocalDate(), deadline);
-        // Sorts the list
-        eventManager.eventHelper.timeOrder(schedule);
+        // Times of the schedule in epoch minutes, ordered by start time
+        EventTimeline timeline = new EventTimeline(schedule);
+        long startMinute = Event.toEpochMinute(start);
+        long endMinute = Event.toEpochMinute(end);
 
         Map<LocalDateTime, Long> freeSlots = new HashMap<>();
 
-        for (Event event : schedule) {
+        for (int i = 0; i < timeline.size(); i++) {
 
-            boolean hasStart = event.hasStart();
-            boolean isAfterStart = event.getEndTime().isAfter(start);
+            boolean hasStart = timeline.getEvent(i).hasStart();
+            boolean isAfterStart = timeline.getEnd(i) > startMinute;
 
             if (hasStart && isAfterStart) {
 
                 // start time of event is before End AND start time is after Start (event is in between start and end)
-                boolean startTimeBeforeEnd = event.getStartTime().isBefore(end);
-                boolean startTimeAfterStart = event.getStartTime().isAfter(start);
+                long eventStart = timeline.getStart(i);
+                boolean startTimeBeforeEnd = eventStart < endMinute;
+                boolean startTimeAfterStart = eventStart > startMinute;
 
                 if (startTimeBeforeEnd && startTimeAfterStart) {
 
                     // Adds the key value pair to the Hash map
-                    freeSlots.put(start, Duration.between(start, event.getStartTime()).toHours());
-
-                    start = event.getEndTime();
-
-                    if (start.isAfter(end)) {
-                        return freeSlots;
-                    }
+                    freeSlots.put(start, (eventStart - startMinute) / 60);
 
                 } else if (!startTimeBeforeEnd) {
-                    freeSlots.put(start, Duration.between(start, end).toHours());
+                    freeSlots.put(start, (endMinute - startMinute) / 60);
                     return freeSlots;
                 }
-                start = event.getEndTime();
-                if (start.isAfter(end)) {
+                start = timeline.getEvent(i).getEndTime();
+                startMinute = timeline.getEnd(i);
+                if (startMinute > endMinute) {
                     return freeSlots;
                 }
 
             }
         }
+        // no event starts after end - the rest of the time until end is free
+        if (startMinute < endMinute) {
+            freeSlots.put(start, (endMinute - startMinute) / 60);
+        }
         return freeSlots;
     }
 
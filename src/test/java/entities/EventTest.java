@@ -26,6 +26,28 @@ public class EventTest {
     @Test
     public void testEquals() {
         assertEquals(this.event1, this.event2);
+        assertEquals(this.event1, this.event3);
+        assertEquals(this.event1.hashCode(), this.event3.hashCode());
+        assertFalse(this.event1.equals(new Event(UUID.randomUUID(), "1", this.event1.getStartTime(),
+                this.event1.getEndTime())));
+    }
+
+    @Test
+    public void testContentEquals() {
+        assertTrue(this.event1.contentEquals(this.event2));
+        assertFalse(this.event1.contentEquals(this.event3));
+        this.event2.addWorkSession(LocalDateTime.of(2021, 10, 14, 1, 0), LocalDateTime.of(2021, 10, 14, 2, 0));
+        assertFalse(this.event1.contentEquals(this.event2));
+    }
+
+    @Test
+    public void testVersion() {
+        long version = this.event1.getVersion();
+        int hash = this.event1.hashCode();
+        this.event1.setName("renamed");
+        this.event1.setEndTime(LocalDateTime.of(2021, 10, 15, 5, 0));
+        assertEquals(version + 2, this.event1.getVersion());
+        assertEquals(hash, this.event1.hashCode());
     }
 
     @Test
@@ -72,4 +94,16 @@ public class EventTest {
         this.event1.setWorkSessions(new ArrayList<>());
         assertEquals(this.event1.getWorkSessions(), new ArrayList<>());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEpochMinutes() {
+        long start = Event.toEpochMinute(LocalDateTime.of(2021, 10, 15, 0, 0));
+        assertEquals(start, this.event1.getStartMinute());
+        assertEquals(start + 180, this.event1.getEndMinute());
+        this.event1.setEndTime(LocalDateTime.of(2021, 10, 15, 5, 0));
+        assertEquals(start + 300, this.event1.getEndMinute());
+        Event deadline = new Event(UUID.randomUUID(), "deadline", LocalDateTime.of(2021, 10, 15, 3, 0));
+        assertEquals(start + 180, deadline.getStartMinute());
+        assertEquals(start + 180, deadline.getEndMinute());
+    }
+}
@@ -16,6 +16,9 @@ public class OurCalendarTest {
     int numOfDays;
 
     private final UUID UUID1 = UUID.randomUUID();
+    private final UUID UUID2 = UUID.randomUUID();
+    private final UUID UUID3 = UUID.randomUUID();
+    private final UUID UUID4 = UUID.randomUUID();
 
     @Before
     public void setUp(){
@@ -69,5 +72,16 @@ public class OurCalendarTest {
         }
         assertEquals(calendar.getCalendarMap(), tempMap);
     }
-}
 
+    @Test(timeout = 100)
+    public void testSortedByStart(){
+        calendar.addEventID(UUID1, date, 600);
+        calendar.addEventID(UUID2, date);
+        calendar.addEventID(UUID3, date, 300);
+        calendar.addEventID(UUID4, date, 600);
+        // unknown start times last, same start times in the order added
+        assertEquals(List.of(UUID3, UUID1, UUID4, UUID2), calendar.getCalendarMap().get(date));
+        assertEquals(numOfDays, calendar.getCalendarMap().size());
+        assertEquals(null, calendar.getCalendarMap().get(numOfDays + 1));
+    }
+}
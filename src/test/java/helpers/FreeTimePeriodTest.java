@@ -0,0 +1,20 @@
+package helpers;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.time.LocalTime;
+
+public class FreeTimePeriodTest {
+
+    @Test
+    public void testMinutesOfDay() {
+        assertArrayEquals(new int[]{0, 540}, FreeTimePeriod.minutesOfDay(LocalTime.of(0, 0), LocalTime.of(9, 0)));
+        // ending at 23:59 is ending at midnight
+        assertArrayEquals(new int[]{1260, 1440}, FreeTimePeriod.minutesOfDay(LocalTime.of(21, 0),
+                LocalTime.of(23, 59)));
+        // over midnight
+        assertArrayEquals(new int[]{1320, 1860}, FreeTimePeriod.minutesOfDay(LocalTime.of(22, 0),
+                LocalTime.of(7, 0)));
+    }
+}
@@ -0,0 +1,72 @@
+package helpers;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class OverlapKernelTest {
+    private final long[] starts = {0, 2, 5, 5, 5, 9, 12};
+    private final long[] ends = {3, 4, 5, 5, 8, 12, 12};
+
+    @Test
+    public void testOverlaps() {
+        assertTrue(OverlapKernel.anyOverlap(1, 2, this.starts, this.ends));
+        assertEquals(0, OverlapKernel.firstOverlap(1, 2, this.starts, this.ends));
+        assertEquals(1, OverlapKernel.overlapCount(1, 2, this.starts, this.ends));
+
+        assertEquals(2, OverlapKernel.firstOverlap(4, 9, this.starts, this.ends));
+        assertEquals(3, OverlapKernel.overlapCount(4, 9, this.starts, this.ends));
+        assertFalse(OverlapKernel.anyOverlap(8, 9, this.starts, this.ends));
+
+        assertEquals(2, OverlapKernel.firstOverlap(5, 5, this.starts, this.ends));
+        assertEquals(2, OverlapKernel.overlapCount(5, 5, this.starts, this.ends));
+        assertEquals(6, OverlapKernel.firstOverlap(12, 12, this.starts, this.ends));
+        assertEquals(1, OverlapKernel.overlapCount(12, 12, this.starts, this.ends));
+        assertFalse(OverlapKernel.anyOverlap(13, 20, this.starts, this.ends));
+        assertFalse(OverlapKernel.anyOverlap(1, 2, new long[0], new long[0]));
+    }
+
+    @Test
+    public void testMatchesIsOverlapped() {
+        Random random = new Random(3);
+        LocalDateTime epoch = LocalDateTime.of(1970, 1, 1, 0, 0);
+        for (int run = 0; run < 200; run++) {
+            int size = random.nextInt(30);
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            long start = 0;
+            long end = 0;
+            for (int i = 0; i < size; i++) {
+                start += random.nextInt(3);
+                end = Math.max(end, start) + random.nextInt(3);
+                starts[i] = start;
+                ends[i] = end;
+            }
+            for (int candidate = 0; candidate < 50; candidate++) {
+                long candidateStart = random.nextInt((int) end + 3);
+                long candidateEnd = candidateStart + random.nextInt(4);
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    IsOverlapped isOverlapped = new IsOverlapped(
+                            List.of(epoch.plusMinutes(candidateStart), epoch.plusMinutes(candidateEnd)),
+                            List.of(epoch.plusMinutes(starts[i]), epoch.plusMinutes(ends[i])));
+                    if (isOverlapped.getResult()) {
+                        expected.add(i);
+                    }
+                }
+                int first = OverlapKernel.firstOverlap(candidateStart, candidateEnd, starts, ends);
+                int count = OverlapKernel.overlapCount(candidateStart, candidateEnd, starts, ends);
+                List<Integer> actual = new ArrayList<>();
+                for (int i = first; i < first + count; i++) {
+                    actual.add(i);
+                }
+                assertEquals(expected, actual);
+                assertEquals(expected.isEmpty() ? -1 : (int) expected.get(0), first);
+                assertEquals(!expected.isEmpty(), OverlapKernel.anyOverlap(candidateStart, candidateEnd, starts, ends));
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package helpers;
+
+import entities.Event;
+import entities.recursions.NumberOfRepetitionInput;
+import entities.recursions.RecursiveEvent;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class PeriodicConflictTest {
+
+    @Test
+    public void testSolve() {
+        Random random = new Random(19);
+        for (int trial = 0; trial < 2000; trial++) {
+            long start1 = random.nextInt(50);
+            long duration1 = random.nextInt(8);
+            long period1 = 1 + random.nextInt(12);
+            long count1 = random.nextInt(10);
+            long start2 = random.nextInt(50);
+            long duration2 = random.nextInt(8);
+            long period2 = 1 + random.nextInt(12);
+            long count2 = random.nextInt(10);
+            long[] expected = null;
+            for (long i = 0; i < count1; i++) {
+                for (long j = 0; j < count2; j++) {
+                    long s1 = start1 + i * period1;
+                    long s2 = start2 + j * period2;
+                    if (IsOverlapped.overlaps(s1, s1 + duration1, s2, s2 + duration2)) {
+                        long start = Math.max(s1, s2);
+                        expected = expected == null ? new long[]{start, start} :
+                                new long[]{Math.min(expected[0], start), Math.max(expected[1], start)};
+                    }
+                }
+            }
+            assertArrayEquals(expected, PeriodicConflict.solve(start1, duration1, period1, count1, start2, duration2,
+                    period2, count2));
+        }
+    }
+
+    @Test
+    public void testFind() {
+        // weekly at 3-5 and fortnightly at 4-6, repeated from the week (or fortnight) after October 1
+        RecursiveEvent weekly = recursion(new Event(UUID.randomUUID(), "weekly", 2021, 10, 1, 3, 5, 0, 0),
+                new Event(UUID.randomUUID(), "weekly-2", 2021, 10, 8, 3, 5, 0, 0), 10);
+        RecursiveEvent fortnightly = recursion(new Event(UUID.randomUUID(), "fortnightly", 2021, 10, 1, 4, 6, 0, 0),
+                new Event(UUID.randomUUID(), "fortnightly-2", 2021, 10, 15, 4, 6, 0, 0), 3);
+        assertArrayEquals(new LocalDateTime[]{LocalDateTime.of(2021, 10, 15, 4, 0),
+                LocalDateTime.of(2021, 11, 12, 4, 0)}, PeriodicConflict.find(weekly, fortnightly));
+        assertArrayEquals(expanded(weekly, fortnightly), PeriodicConflict.find(fortnightly, weekly));
+
+        RecursiveEvent evenings = recursion(new Event(UUID.randomUUID(), "evening", 2021, 10, 1, 18, 20, 0, 0),
+                new Event(UUID.randomUUID(), "evening-2", 2021, 10, 4, 18, 20, 0, 0), 100);
+        assertNull(PeriodicConflict.find(weekly, evenings));
+    }
+
+    @Test
+    public void testFindIrregular() {
+        // a monthly period has no fixed length, so the events are compared one by one
+        RecursiveEvent monthly = recursion(new Event(UUID.randomUUID(), "monthly", 2021, 9, 10, 2, 4, 0, 0),
+                new Event(UUID.randomUUID(), "monthly-2", 2021, 10, 10, 2, 4, 0, 0), 4);
+        RecursiveEvent weekly = recursion(new Event(UUID.randomUUID(), "weekly", 2021, 10, 1, 3, 5, 0, 0),
+                new Event(UUID.randomUUID(), "weekly-2", 2021, 10, 8, 3, 5, 0, 0), 20);
+        assertArrayEquals(expanded(monthly, weekly), PeriodicConflict.find(monthly, weekly));
+        assertEquals(LocalDateTime.of(2021, 12, 10, 3, 0), PeriodicConflict.find(monthly, weekly)[0]);
+    }
+
+    private static RecursiveEvent recursion(Event first, Event next, int repetitions) {
+        return new RecursiveEvent(UUID.randomUUID(), new ArrayList<>(List.of(first, next)),
+                new NumberOfRepetitionInput(repetitions));
+    }
+
+    private static LocalDateTime[] expanded(RecursiveEvent recursion1, RecursiveEvent recursion2) {
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (Event event1 : recursion1.listOfEventsInCycles(recursion1.getEventsInOneCycle())) {
+            for (Event event2 : recursion2.listOfEventsInCycles(recursion2.getEventsInOneCycle())) {
+                if (IsOverlapped.overlaps(event1.getStartMinute(), event1.getEndMinute(), event2.getStartMinute(),
+                        event2.getEndMinute())) {
+                    LocalDateTime start = event1.getStartTime().isAfter(event2.getStartTime()) ?
+                            event1.getStartTime() : event2.getStartTime();
+                    first = first == null || start.isBefore(first) ? start : first;
+                    last = last == null || start.isAfter(last) ? start : last;
+                }
+            }
+        }
+        return first == null ? null : new LocalDateTime[]{first, last};
+    }
+}
@@ -4,11 +4,18 @@ import entities.Event;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.*;
 
+import entities.OurCalendar;
 import usecases.calendar.CalendarManager;
 
 public class CalendarManagerTest {
@@ -74,4 +81,74 @@ public class CalendarManagerTest {
         int numOfDaysCurrent = yearMonth.lengthOfMonth();
         assertEquals(this.calendarManager.getCurrentCalendar().getCalendarMap().size(), numOfDaysCurrent);
     }
+
+    @Test(timeout = 100)
+    public void testAnyMonth() {
+        YearMonth graduation = YearMonth.of(year, month).plusMonths(46);
+        this.calendarManager.addToCalendar(UUID1, graduation.getYear(), graduation.getMonthValue(), 15);
+        assertEquals(List.of(UUID1), calendarManager.getEventID(graduation.getYear(), graduation.getMonthValue(), 15));
+        YearMonth past = YearMonth.of(year, month).minusMonths(30);
+        assertEquals(new ArrayList<>(), calendarManager.getEventID(past.getYear(), past.getMonthValue(), 1));
+        assertEquals(List.of(UUID1), calendarManager.getEventID(graduation.getYear(), graduation.getMonthValue(), 15));
+    }
+
+    @Test(timeout = 100)
+    public void testEviction() {
+        CalendarManager small = new CalendarManager(1, 4);
+        List<YearMonth> loads = new ArrayList<>();
+        small.setMonthLoader(yearMonth -> {
+            loads.add(yearMonth);
+            OurCalendar calendar = new OurCalendar(yearMonth.getYear(), yearMonth.getMonthValue());
+            calendar.addEventID(UUID2, 1);
+            return calendar;
+        });
+        YearMonth current = YearMonth.of(year, month);
+        for (int i = 2; i <= 6; i++) {
+            assertEquals(List.of(UUID2), small.getEventID(current.plusMonths(i).getYear(),
+                    current.plusMonths(i).getMonthValue(), 1));
+        }
+        assertEquals(5, loads.size());
+        // the hot window is kept, and the least recently used month was dropped and is loaded again
+        assertTrue(small.isStored(current.minusMonths(1)) && small.isStored(current.plusMonths(1)));
+        assertTrue(small.isStored(current.plusMonths(6)));
+        assertFalse(small.isStored(current.plusMonths(2)));
+        small.getCalendar(current.plusMonths(2));
+        assertEquals(6, loads.size());
+        // a month just loaded already has its events
+        YearMonth later = current.plusMonths(12);
+        small.addToCalendar(UUID2, later.getYear(), later.getMonthValue(), 1);
+        assertEquals(List.of(UUID2), small.getEventID(later.getYear(), later.getMonthValue(), 1));
+    }
+
+    @Test(timeout = 100)
+    public void testRollover() {
+        Instant[] now = {LocalDateTime.of(2021, 1, 31, 23, 59).toInstant(ZoneOffset.UTC)};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        };
+        CalendarManager rolling = new CalendarManager(1, 4, clock);
+        rolling.setMonthLoader(yearMonth -> new OurCalendar(yearMonth.getYear(), yearMonth.getMonthValue()));
+        assertEquals(31, rolling.getCurrentDate());
+        assertEquals(List.of(2021, 2, 28), rolling.getFutureCalendar().get(0).getDateInfo());
+        now[0] = now[0].plusSeconds(60);
+        assertEquals(1, rolling.getCurrentDate());
+        assertEquals(2, rolling.getCurrentMonth());
+        assertEquals(List.of(2021, 1, 31), rolling.getPastCalendar().get(0).getDateInfo());
+        assertEquals(List.of(2021, 3, 31), rolling.getFutureCalendar().get(0).getDateInfo());
+        assertEquals(List.of(2021, 2, 28), rolling.getCurrentCalendar().getDateInfo());
+        assertTrue(rolling.isStored(YearMonth.of(2021, 3)));
+    }
 }
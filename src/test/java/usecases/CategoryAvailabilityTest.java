@@ -0,0 +1,73 @@
+package usecases;
+
+import entities.Category;
+import entities.Event;
+import entities.User;
+import entities.recursions.RecursiveEvent;
+import interfaces.EventShardSource;
+import org.junit.Before;
+import org.junit.Test;
+import usecases.events.EventShardStore;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class CategoryAvailabilityTest {
+    private final User ADMIN = new User(UUID.randomUUID(), "admin", "admin", "password");
+    private final User MEMBER = new User(UUID.randomUUID(), "member", "member", "password");
+    private final LocalDate DAY = LocalDate.of(2021, 10, 4);
+
+    private Map<UUID, List<Event>> saved;
+    private EventShardStore store;
+    private Category category;
+
+    @Before
+    public void setUp() {
+        this.saved = new HashMap<>();
+        this.saved.put(ADMIN.getId(), List.of(new Event(UUID.randomUUID(), "lecture", 2021, 10, 4, 10, 12, 0, 0)));
+        this.saved.put(MEMBER.getId(), List.of(new Event(UUID.randomUUID(), "lab", 2021, 10, 4, 14, 17, 0, 0),
+                new Event(UUID.randomUUID(), "shift", 2021, 10, 5, 9, 20, 0, 30)));
+        this.store = new EventShardStore(new EventShardSource() {
+            @Override
+            public List<Event> readEvents(UUID userID) {
+                return new ArrayList<>(saved.getOrDefault(userID, new ArrayList<>()));
+            }
+
+            @Override
+            public Map<UUID, RecursiveEvent> readRecursiveEvents(UUID userID) {
+                return new HashMap<>();
+            }
+        });
+        this.category = new Category(UUID.randomUUID(), "study group", ADMIN);
+        this.category.addRegularUser(MEMBER);
+    }
+
+    @Test
+    public void testFindCommonSlots() {
+        this.store.open(ADMIN.getId());
+        CategoryAvailability availability = new CategoryAvailability(this.store);
+        Map<LocalDateTime, Long> expected = new LinkedHashMap<>();
+        expected.put(LocalDateTime.of(DAY, LocalTime.of(17, 0)), 240L);
+        expected.put(LocalDateTime.of(DAY, LocalTime.of(12, 0)), 120L);
+        assertEquals(expected, availability.findCommonSlots(this.category, DAY, DAY.plusDays(1), 60, 2));
+        assertEquals(List.of(LocalDateTime.of(DAY, LocalTime.of(17, 0)), LocalDateTime.of(DAY, LocalTime.of(12, 0)),
+                LocalDateTime.of(DAY, LocalTime.of(9, 0)), LocalDateTime.of(DAY.plusDays(1), LocalTime.of(20, 30))),
+                new ArrayList<>(availability.findCommonSlots(this.category, DAY, DAY.plusDays(1), 30, 10).keySet()));
+
+        assertTrue(this.store.isLoaded(ADMIN.getId()));
+        assertFalse(this.store.isLoaded(MEMBER.getId()));
+    }
+
+    @Test
+    public void testMemberFreeTime() {
+        MEMBER.getUserPreferences().setFreeTime(LocalTime.of(12, 0), LocalTime.of(13, 0));
+        Map<LocalDateTime, Long> slots = new CategoryAvailability(this.store).findCommonSlots(this.category, DAY, DAY,
+                60, 5);
+        assertEquals(Long.valueOf(60), slots.get(LocalDateTime.of(DAY, LocalTime.of(13, 0))));
+        assertFalse(slots.containsKey(LocalDateTime.of(DAY, LocalTime.of(12, 0))));
+    }
+}
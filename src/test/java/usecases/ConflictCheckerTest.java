@@ -1,6 +1,8 @@
 package usecases;
 
 import entities.Event;
+import helpers.ConflictSweep;
+import helpers.IsOverlapped;
 import org.junit.Before;
 import org.junit.Test;
 import usecases.calendar.CalendarManager;
@@ -8,8 +10,10 @@ import usecases.events.EventManager;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class ConflictCheckerTest {
     ConflictChecker conflictChecker;
@@ -68,4 +72,176 @@ public class ConflictCheckerTest {
         assertEquals(conflictChecker.notifyConflict(year, month, date), uuidList);
         assertEquals(conflictChecker.notifyConflict(year, month, newDate), new ArrayList<>());
     }
+
+    @Test(timeout = 100)
+    public void testConflictClusters() {
+        Event eventOne = new Event(UUID1, "TEST ONE", LocalDateTime.of(year, month, date, 8, 0),
+                LocalDateTime.of(year, month, date, 10, 0));
+        Event eventTwo = new Event(UUID2, "TEST TWO", LocalDateTime.of(year, month, date, 9, 0),
+                LocalDateTime.of(year, month, date, 11, 0));
+        Event eventThree = new Event(UUID3, "TEST THREE", LocalDateTime.of(year, month, date, 11, 0),
+                LocalDateTime.of(year, month, date, 13, 0));
+        Event eventFour = new Event(UUID4, "TEST FOUR", LocalDateTime.of(year, month, date, 12, 0));
+        for (Event event : List.of(eventFour, eventThree, eventTwo, eventOne)) {
+            eventManager.addEvent(event);
+            calendarManager.addToCalendar(event.getID(), year, month, date);
+        }
+        assertEquals(List.of(List.of(UUID1, UUID2), List.of(UUID3, UUID4)),
+                conflictChecker.getConflictClusters(year, month, date));
+        assertEquals(List.of(UUID1, UUID2, UUID3, UUID4), conflictChecker.notifyConflict(year, month, date));
+    }
+
+    @Test(timeout = 100)
+    public void testFindConflicts() {
+        UUID UUID5 = UUID.randomUUID();
+        eventManager.addEvent(new Event(UUID1, "1", LocalDateTime.of(2019, 12, 31, 22, 0),
+                LocalDateTime.of(2020, 1, 1, 2, 0)));
+        eventManager.addEvent(new Event(UUID2, "2", LocalDateTime.of(2020, 1, 1, 1, 0),
+                LocalDateTime.of(2020, 1, 1, 3, 0)));
+        eventManager.addEvent(new Event(UUID3, "3", LocalDateTime.of(2024, 6, 1, 10, 0),
+                LocalDateTime.of(2024, 6, 1, 12, 0)));
+        eventManager.addEvent(new Event(UUID4, "4", LocalDateTime.of(2024, 6, 1, 10, 0),
+                LocalDateTime.of(2024, 6, 1, 11, 0)));
+        eventManager.addEvent(new Event(UUID5, "deadline", LocalDateTime.of(2022, 3, 1, 9, 0)));
+        eventManager.addEvent(new Event(UUID.randomUUID(), "5", LocalDateTime.of(2022, 3, 1, 9, 0),
+                LocalDateTime.of(2022, 3, 1, 10, 0)));
+
+        List<List<UUID>> conflicts = new ArrayList<>();
+        conflictChecker.findConflicts(LocalDateTime.of(2019, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0))
+                .forEach(conflicts::add);
+        assertEquals(List.of(List.of(UUID1, UUID2), List.of(UUID4, UUID3)), conflicts);
+
+        assertEquals(List.of(UUID1, UUID2), conflictChecker.findConflicts(LocalDateTime.of(2000, 1, 1, 0, 0),
+                LocalDateTime.of(2100, 1, 1, 0, 0)).findFirst().orElseThrow());
+        assertTrue(conflictChecker.findConflicts(LocalDateTime.of(2020, 1, 2, 0, 0),
+                LocalDateTime.of(2024, 5, 31, 0, 0)).findAny().isEmpty());
+    }
+
+    @Test
+    public void testFindConflictsOfUsers() {
+        eventManager.addEvent(new Event(UUID1, "1", LocalDateTime.of(2020, 1, 1, 1, 0),
+                LocalDateTime.of(2020, 1, 1, 3, 0)));
+        eventManager.addEvent(new Event(UUID2, "2", LocalDateTime.of(2020, 1, 1, 2, 0),
+                LocalDateTime.of(2020, 1, 1, 4, 0)));
+        EventManager other = new EventManager(new ArrayList<>(List.of(new Event(UUID3, "3",
+                LocalDateTime.of(2020, 1, 1, 2, 0), LocalDateTime.of(2020, 1, 1, 4, 0)))));
+        UUID user = UUID.randomUUID();
+        UUID otherUser = UUID.randomUUID();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Map<UUID, List<List<UUID>>> conflicts = conflictChecker.findConflicts(Map.of(user, eventManager,
+                    otherUser, other), LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 1, 2, 0, 0), pool);
+            assertEquals(List.of(List.of(UUID1, UUID2)), conflicts.get(user));
+            assertEquals(List.of(), conflicts.get(otherUser));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = 100)
+    public void testPeakDepth() {
+        eventManager.addEvent(new Event(UUID1, "1", LocalDateTime.of(2019, 12, 31, 22, 0),
+                LocalDateTime.of(2020, 1, 1, 2, 0)));
+        eventManager.addEvent(new Event(UUID2, "2", LocalDateTime.of(2020, 1, 1, 1, 0),
+                LocalDateTime.of(2020, 1, 1, 3, 0)));
+        eventManager.addEvent(new Event(UUID3, "3", LocalDateTime.of(2020, 1, 1, 2, 0),
+                LocalDateTime.of(2020, 1, 1, 4, 0)));
+
+        assertEquals(2, conflictChecker.getMaxDepth(LocalDateTime.of(2019, 12, 1, 0, 0),
+                LocalDateTime.of(2020, 2, 1, 0, 0)));
+        assertEquals(LocalDateTime.of(2020, 1, 1, 1, 0), conflictChecker.findPeak(LocalDateTime.of(2019, 12, 1, 0, 0),
+                LocalDateTime.of(2020, 2, 1, 0, 0)));
+        eventManager.addEvent(new Event(UUID4, "4", LocalDateTime.of(2020, 1, 1, 2, 0),
+                LocalDateTime.of(2020, 1, 1, 3, 0)));
+        assertEquals(3, conflictChecker.getMaxDepth(LocalDateTime.of(2019, 12, 1, 0, 0),
+                LocalDateTime.of(2020, 2, 1, 0, 0)));
+        assertEquals(LocalDateTime.of(2020, 1, 1, 2, 0), conflictChecker.findPeak(LocalDateTime.of(2019, 12, 1, 0, 0),
+                LocalDateTime.of(2020, 2, 1, 0, 0)));
+    }
+
+    @Test
+    public void testSweepMatchesPairwise() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int size = 2 + random.nextInt(12);
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            for (int i = 0; i < size; i++) {
+                starts[i] = random.nextInt(20);
+                ends[i] = starts[i] + random.nextInt(5);
+            }
+            int[] component = new int[size];
+            for (int i = 0; i < size; i++) {
+                component[i] = i;
+            }
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    if (IsOverlapped.overlaps(starts[i], ends[i], starts[j], ends[j])) {
+                        int from = component[j];
+                        for (int k = 0; k < size; k++) {
+                            if (component[k] == from) {
+                                component[k] = component[i];
+                            }
+                        }
+                    }
+                }
+            }
+            Set<Set<Integer>> expected = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                Set<Integer> members = new HashSet<>();
+                for (int k = 0; k < size; k++) {
+                    if (component[k] == component[i]) {
+                        members.add(k);
+                    }
+                }
+                if (members.size() > 1) {
+                    expected.add(members);
+                }
+            }
+            Set<Set<Integer>> actual = new HashSet<>();
+            for (int[] cluster : ConflictSweep.clusters(starts, ends)) {
+                Set<Integer> members = new HashSet<>();
+                for (int i : cluster) {
+                    members.add(i);
+                }
+                actual.add(members);
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testSpliteratorMatchesSweep() {
+        Random random = new Random(11);
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int round = 0; round < 100; round++) {
+            int size = 2 + random.nextInt(12);
+            EventManager events = new EventManager(new ArrayList<>());
+            UUID[] ids = new UUID[size];
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = UUID.randomUUID();
+                LocalDateTime start = base.plusMinutes(random.nextInt(20));
+                LocalDateTime end = start.plusMinutes(random.nextInt(5));
+                Event event = start.equals(end) ? new Event(ids[i], "deadline", end)
+                        : new Event(ids[i], "event", start, end);
+                events.addEvent(event);
+                starts[i] = Event.toEpochMinute(start);
+                ends[i] = Event.toEpochMinute(end);
+            }
+            List<Set<UUID>> expected = new ArrayList<>();
+            for (int[] cluster : ConflictSweep.clusters(starts, ends)) {
+                Set<UUID> members = new HashSet<>();
+                for (int i : cluster) {
+                    members.add(ids[i]);
+                }
+                expected.add(members);
+            }
+            List<Set<UUID>> actual = new ArrayList<>();
+            new ConflictChecker(events, calendarManager).findConflicts(base, base.plusDays(1))
+                    .forEach(cluster -> actual.add(new HashSet<>(cluster)));
+            assertEquals(expected, actual);
+        }
+    }
 }
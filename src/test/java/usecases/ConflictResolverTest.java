@@ -0,0 +1,78 @@
+package usecases;
+
+import entities.Event;
+import usecases.events.EventManager;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+public class ConflictResolverTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, 10, 1, 0, 0);
+    private EventManager eventManager;
+    private Map<LocalTime, LocalTime> freeTime;
+    private ConflictResolver resolver;
+
+    private final UUID UUID1 = UUID.randomUUID();
+    private final UUID UUID2 = UUID.randomUUID();
+    private final UUID UUID3 = UUID.randomUUID();
+
+    @Before
+    public void start() {
+        this.eventManager = new EventManager(new ArrayList<>(List.of(
+                new Event(UUID1, "1", 2021, 10, 1, 10, 12, 0, 0),
+                new Event(UUID2, "2", 2021, 10, 1, 11, 13, 0, 0),
+                new Event(UUID3, "3", 2021, 10, 1, 14, 15, 0, 0))));
+        this.freeTime = new HashMap<>();
+        this.freeTime.put(LocalTime.of(21, 0), LocalTime.of(23, 59));
+        this.freeTime.put(LocalTime.of(0, 0), LocalTime.of(9, 0));
+        this.resolver = new ConflictResolver(this.eventManager, this.freeTime, this.clockAt(NOW));
+    }
+
+    private Clock clockAt(LocalDateTime now) {
+        return Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    @Test
+    public void testSuggest() {
+        // 1 can move back to 9:00 (not into free time) or after 2, but not into 3
+        assertEquals(List.of(LocalDateTime.of(2021, 10, 1, 9, 0), LocalDateTime.of(2021, 10, 1, 15, 0),
+                LocalDateTime.of(2021, 10, 1, 17, 0)),
+                this.resolver.suggest(UUID1, 3, Duration.ofSeconds(10)));
+        // 2 fits between the end of 1 and the start of 3 by moving to 12:00
+        assertEquals(List.of(LocalDateTime.of(2021, 10, 1, 12, 0)),
+                this.resolver.suggest(UUID2, 1, Duration.ofSeconds(10)));
+        assertEquals(LocalDateTime.of(2021, 10, 1, 10, 0), this.eventManager.get(UUID1).getStartTime());
+    }
+
+    @Test
+    public void testSuggestAll() {
+        Map<UUID, List<LocalDateTime>> suggestions = this.resolver.suggest(List.of(UUID1, UUID2), 2,
+                Duration.ofSeconds(10));
+        assertEquals(List.of(UUID1, UUID2), new ArrayList<>(suggestions.keySet()));
+        assertEquals(2, suggestions.get(UUID2).size());
+        assertTrue(this.resolver.suggest(List.of(UUID1), 2, Duration.ZERO).get(UUID1).isEmpty());
+    }
+
+    @Test
+    public void testNoPastSuggestions() {
+        LocalDateTime now = LocalDateTime.of(2021, 10, 2, 10, 0);
+        UUID soon = UUID.randomUUID();
+        this.eventManager.addEvent(new Event(soon, "soon", now.plusMinutes(15), now.plusMinutes(75)));
+        this.eventManager.addEvent(new Event(UUID.randomUUID(), "busy", now.plusMinutes(15), now.plusHours(3)));
+        // 9:00 would be the nearest earlier time outside the free time, but it has passed
+        List<LocalDateTime> suggestions = new ConflictResolver(this.eventManager, this.freeTime, this.clockAt(now))
+                .suggest(soon, 3, Duration.ofSeconds(10));
+        assertEquals(3, suggestions.size());
+        for (LocalDateTime suggestion : suggestions) {
+            assertFalse(suggestion + " is in the past", suggestion.isBefore(now));
+        }
+    }
+}
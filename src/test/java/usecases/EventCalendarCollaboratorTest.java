@@ -0,0 +1,143 @@
+package usecases;
+
+import entities.Event;
+import entities.OurCalendar;
+import usecases.calendar.CalendarManager;
+import usecases.events.EventManager;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+public class EventCalendarCollaboratorTest {
+    private EventManager eventManager;
+    private CalendarManager calendarManager;
+    private LocalDate day;
+
+    private final UUID UUID1 = UUID.randomUUID();
+    private final UUID UUID2 = UUID.randomUUID();
+    private final UUID UUID3 = UUID.randomUUID();
+
+    @Before
+    public void start() {
+        this.day = LocalDate.now().withDayOfMonth(10);
+        this.eventManager = new EventManager(new ArrayList<>(List.of(
+                new Event(UUID1, "1", this.at(0, 12)),
+                new Event(UUID2, "2", this.at(0, 9), this.at(0, 10)))));
+        this.calendarManager = new CalendarManager();
+        EventCalendarCollaborator collaborator = new EventCalendarCollaborator(this.eventManager,
+                this.calendarManager);
+        collaborator.addAllEvents();
+        collaborator.subscribe();
+    }
+
+    private LocalDateTime at(int days, int hour) {
+        return this.day.plusDays(days).atTime(hour, 0);
+    }
+
+    private List<UUID> on(int days) {
+        LocalDate date = this.day.plusDays(days);
+        return this.calendarManager.getEventID(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+    }
+
+    @Test
+    public void testAddMoveRemove() {
+        assertEquals(List.of(UUID2, UUID1), this.on(0));
+        this.eventManager.addEvent(new Event(UUID3, "3", this.at(0, 11), this.at(1, 8)));
+        assertEquals(List.of(UUID2, UUID3, UUID1), this.on(0));
+        assertEquals(List.of(UUID3), this.on(1));
+        this.eventManager.getDefaultEventInfoGetter().setStart(UUID3, this.at(0, 7));
+        assertEquals(List.of(UUID3, UUID2, UUID1), this.on(0));
+        assertEquals(List.of(UUID3), this.on(1));
+        this.eventManager.getDefaultEventInfoGetter().setEnd(UUID2, this.at(1, 10));
+        assertEquals(List.of(UUID3, UUID2), this.on(1));
+        this.eventManager.remove(UUID3);
+        assertEquals(List.of(UUID2, UUID1), this.on(0));
+        assertEquals(List.of(UUID2), this.on(1));
+    }
+
+    @Test
+    public void testBatch() {
+        this.eventManager.beginBatch();
+        this.eventManager.addEvent(new Event(UUID3, "3", this.at(0, 8), this.at(0, 9)));
+        this.eventManager.remove(UUID1);
+        assertEquals(List.of(UUID2, UUID1), this.on(0));
+        this.eventManager.commitBatch();
+        assertEquals(List.of(UUID3, UUID2), this.on(0));
+    }
+
+    @Test
+    public void testMonthNotStored() {
+        YearMonth far = YearMonth.now().plusYears(2);
+        UUID farID = this.eventManager.addEvent("far", far.atDay(3).atTime(12, 0));
+        assertFalse(this.calendarManager.isStored(far));
+        assertEquals(List.of(farID), this.calendarManager.getEventID(far.getYear(), far.getMonthValue(), 3));
+    }
+
+    @Test
+    public void testPrefetch() {
+        List<Runnable> tasks = new ArrayList<>();
+        CalendarManager prefetching = new CalendarManager(1, 4);
+        EventCalendarCollaborator collaborator = new EventCalendarCollaborator(this.eventManager, prefetching);
+        collaborator.enablePrefetch(tasks::add);
+        YearMonth next = YearMonth.now().plusMonths(2);
+        UUID nextID = this.eventManager.addEvent("next", next.atDay(5).atTime(12, 0));
+        collaborator.addAllEvents();
+        // the month after the hot window is filled in the background, and used as no event changed
+        assertEquals(1, tasks.size());
+        assertNull(collaborator.getPrefetched(next));
+        tasks.remove(0).run();
+        OurCalendar filled = collaborator.getPrefetched(next);
+        assertNotNull(filled);
+        assertSame(filled, prefetching.getCalendar(next));
+        assertEquals(List.of(nextID), prefetching.getEventID(next.getYear(), next.getMonthValue(), 5));
+        // and then the month after it, which is not used once an event changed
+        YearMonth later = next.plusMonths(1);
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        OurCalendar stale = collaborator.getPrefetched(later);
+        assertNotNull(stale);
+        UUID laterID = this.eventManager.addEvent("later", later.atDay(6).atTime(12, 0));
+        assertNotSame(stale, prefetching.getCalendar(later));
+        assertEquals(List.of(laterID), prefetching.getEventID(later.getYear(), later.getMonthValue(), 6));
+    }
+
+    @Test
+    public void testPrefetchWithoutQuery() {
+        int[] queries = new int[1];
+        EventManager counting = new EventManager(new ArrayList<>()) {
+            @Override
+            public List<Event> query(LocalDateTime from, LocalDateTime to) {
+                queries[0]++;
+                return super.query(from, to);
+            }
+        };
+        YearMonth next = YearMonth.now().plusMonths(2);
+        counting.addEvent(new Event(UUID1, "1", next.atDay(5).atTime(9, 0), next.atDay(5).atTime(11, 0)));
+        counting.addEvent(new Event(UUID2, "2", next.atDay(5).atTime(10, 0), next.atDay(6).atTime(1, 0)));
+        counting.addEvent(new Event(UUID3, "3", next.atDay(5).atTime(8, 0)));
+        CalendarManager prefetching = new CalendarManager(1, 4);
+        EventCalendarCollaborator collaborator = new EventCalendarCollaborator(counting, prefetching);
+        List<Runnable> tasks = new ArrayList<>();
+        collaborator.enablePrefetch(tasks::add);
+        collaborator.addAllEvents();
+        // the executor never gets to the month, so it is filled from the snapshot when it is used
+        queries[0] = 0;
+        OurCalendar calendar = prefetching.getCalendar(next);
+        assertEquals(0, queries[0]);
+        assertEquals(List.of(UUID3, UUID1, UUID2), calendar.getCalendarMap().get(5));
+        assertEquals(List.of(UUID2), calendar.getCalendarMap().get(6));
+        assertEquals(List.of(List.of(UUID1, UUID2)), calendar.getConflictClusters(5));
+        assertEquals(List.of(), calendar.getConflictClusters(6));
+        // and the month after it is prefetched without a query either
+        assertEquals(0, queries[0]);
+        assertEquals(2, tasks.size());
+        assertEquals(List.of(List.of(UUID1, UUID2)), new ConflictChecker(counting, prefetching)
+                .getConflictClusters(next.getYear(), next.getMonthValue(), 5));
+    }
+}
@@ -0,0 +1,122 @@
+package usecases;
+
+import entities.Event;
+import helpers.ConflictSweep;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import usecases.events.EventManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelConflictScanTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2021, 9, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2022, 5, 1, 0, 0);
+    private EventManager eventManager;
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        this.eventManager = new EventManager(randomEvents(new Random(42), 3000));
+        this.pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    private static List<Event> randomEvents(Random random, int size) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            LocalDateTime start = FROM.minusDays(10).plusMinutes(random.nextInt(260 * 24 * 4) * 15L);
+            if (random.nextInt(20) == 0) {
+                events.add(new Event(UUID.randomUUID(), "deadline", start));
+            } else {
+                // mostly short events, with a few spanning several weeks
+                long minutes = random.nextInt(50) == 0 ? random.nextInt(60 * 24 * 30) : random.nextInt(8) * 30L;
+                events.add(new Event(UUID.randomUUID(), "event", start, start.plusMinutes(minutes)));
+            }
+        }
+        return events;
+    }
+
+    @Test(timeout = 5000)
+    public void testMatchesSequential() {
+        List<List<UUID>> expected = this.eventManager.findConflicts(FROM, TO).collect(Collectors.toList());
+        assertTrue(expected.size() > 1);
+        for (int parallelism : new int[]{1, 2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                ParallelConflictScan scan = new ParallelConflictScan(pool);
+                assertEquals(expected, scan.scan(this.eventManager, FROM, TO));
+                assertTrue(scan.getEventsScanned() > 0);
+                assertTrue(scan.getThroughput() > 0);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        assertEquals(this.eventManager.findConflicts(TO, FROM).collect(Collectors.toList()),
+                new ParallelConflictScan(ForkJoinPool.commonPool()).scan(this.eventManager, TO, FROM));
+    }
+
+    @Test(timeout = 5000)
+    public void testMatchesConflictSweep() {
+        List<Event> events = this.eventManager.getAllEventsOrdered();
+        long[] starts = new long[events.size()];
+        long[] ends = new long[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            starts[i] = events.get(i).getStartMinute();
+            ends[i] = events.get(i).getEndMinute();
+        }
+        Set<Set<UUID>> expected = new HashSet<>();
+        for (int[] cluster : ConflictSweep.clusters(starts, ends)) {
+            Set<UUID> members = new HashSet<>();
+            for (int i : cluster) {
+                members.add(events.get(i).getID());
+            }
+            expected.add(members);
+        }
+        Set<Set<UUID>> actual = new HashSet<>();
+        for (List<UUID> cluster : new ParallelConflictScan(this.pool).scan(this.eventManager,
+                FROM.minusYears(1), TO.plusYears(1))) {
+            actual.add(new HashSet<>(cluster));
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test(timeout = 5000)
+    public void testSpanningWeeks() {
+        EventManager spanning = new EventManager(new ArrayList<>(List.of(
+                new Event(UUID.randomUUID(), "term", FROM.plusDays(2), FROM.plusDays(60)),
+                new Event(UUID.randomUUID(), "a", FROM.plusDays(20), FROM.plusDays(20).plusHours(1)),
+                new Event(UUID.randomUUID(), "b", FROM.plusDays(45), FROM.plusDays(45).plusHours(1)),
+                new Event(UUID.randomUUID(), "c", FROM.plusDays(70), FROM.plusDays(70).plusHours(1)),
+                new Event(UUID.randomUUID(), "d", FROM.plusDays(70), FROM.plusDays(70).plusHours(2)))));
+        List<List<UUID>> conflicts = new ParallelConflictScan(this.pool).scan(spanning, FROM, TO);
+        assertEquals(2, conflicts.size());
+        assertEquals(3, conflicts.get(0).size());
+        assertEquals(2, conflicts.get(1).size());
+    }
+
+    @Test(timeout = 5000)
+    public void testUserShards() {
+        Random random = new Random(7);
+        Map<UUID, EventManager> shards = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            shards.put(UUID.randomUUID(), new EventManager(randomEvents(random, 500)));
+        }
+        Map<UUID, List<List<UUID>>> conflicts = new ParallelConflictScan(this.pool).scan(shards, FROM, TO);
+        assertEquals(shards.keySet(), conflicts.keySet());
+        for (Map.Entry<UUID, EventManager> shard : shards.entrySet()) {
+            assertEquals(shard.getValue().findConflicts(FROM, TO).collect(Collectors.toList()),
+                    conflicts.get(shard.getKey()));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package usecases.events;
+
+import entities.Event;
+import entities.recursions.NumberOfRepetitionInput;
+import entities.recursions.RecursiveEvent;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class ConflictProbeTest {
+    private EventManager eventManager;
+    private ConflictProbe probe;
+
+    private final UUID UUID1 = UUID.randomUUID();
+    private final UUID UUID2 = UUID.randomUUID();
+    private final UUID UUID3 = UUID.randomUUID();
+
+    @Before
+    public void start() {
+        this.eventManager = new EventManager(new ArrayList<>(List.of(
+                new Event(UUID1, "1", 2021, 10, 1, 2, 4, 0, 0),
+                new Event(UUID2, "2", 2021, 10, 1, 6, 8, 0, 0),
+                new Event(UUID3, "3", 2021, 10, 15, 3, 4, 0, 0))));
+        this.probe = new ConflictProbe(this.eventManager);
+    }
+
+    @Test
+    public void testProbe() {
+        long modifications = this.eventManager.getModificationCount();
+        assertEquals(Set.of(UUID2), this.probe.probe(UUID1, LocalDateTime.of(2021, 10, 1, 2, 0),
+                LocalDateTime.of(2021, 10, 1, 7, 0)));
+        assertEquals(List.of(UUID1, UUID2), new ArrayList<>(this.probe.probe(UUID.randomUUID(),
+                LocalDateTime.of(2021, 10, 1, 3, 0), LocalDateTime.of(2021, 10, 1, 7, 0))));
+        assertTrue(this.probe.probe(UUID1, LocalDateTime.of(2021, 10, 1, 4, 0),
+                LocalDateTime.of(2021, 10, 1, 6, 0)).isEmpty());
+        assertEquals(Set.of(UUID2), this.probe.probe(UUID1, null, LocalDateTime.of(2021, 10, 1, 7, 0)));
+        assertTrue(this.probe.probe(UUID1, LocalDateTime.of(2021, 10, 1, 7, 0),
+                LocalDateTime.of(2021, 10, 1, 6, 0)).isEmpty());
+
+        assertEquals(LocalDateTime.of(2021, 10, 1, 2, 0), this.eventManager.get(UUID1).getStartTime());
+        assertEquals(modifications, this.eventManager.getModificationCount());
+    }
+
+    @Test
+    public void testProbeRecursion() {
+        Event weekly = new Event(UUID.randomUUID(), "weekly", 2021, 10, 1, 3, 5, 0, 0);
+        Event next = new Event(UUID.randomUUID(), "weekly-2", 2021, 10, 8, 3, 5, 0, 0);
+        this.eventManager.addEvent(weekly);
+        RecursiveEvent recursion = new RecursiveEvent(UUID.randomUUID(), new ArrayList<>(List.of(weekly, next)),
+                new NumberOfRepetitionInput(3));
+        assertEquals(Set.of(UUID1, UUID3), this.probe.probe(recursion));
+        assertFalse(this.eventManager.getRepeatedEventManager().getRecursiveEventMap().containsKey(recursion.getId()));
+    }
+}
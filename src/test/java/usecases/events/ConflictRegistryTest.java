@@ -0,0 +1,85 @@
+package usecases.events;
+
+import entities.Event;
+import usecases.events.worksessions.WorkSessionManager;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+public class ConflictRegistryTest {
+    private EventManager eventManager;
+    private ConflictRegistry registry;
+
+    private final UUID UUID1 = UUID.randomUUID();
+    private final UUID UUID2 = UUID.randomUUID();
+    private final UUID UUID3 = UUID.randomUUID();
+    private final UUID UUID4 = UUID.randomUUID();
+
+    @Before
+    public void start() {
+        this.eventManager = new EventManager(new ArrayList<>(List.of(
+                new Event(UUID1, "1", 2021, 10, 1, 2, 4, 0, 0),
+                new Event(UUID2, "2", 2021, 10, 1, 3, 5, 0, 0),
+                new Event(UUID3, "3", 2021, 10, 1, 5, 7, 0, 0),
+                new Event(UUID4, "4", LocalDateTime.of(2021, 10, 31, 22, 0), LocalDateTime.of(2021, 11, 2, 1, 0)))));
+        this.registry = this.eventManager.getConflictRegistry();
+    }
+
+    @Test
+    public void testInitialConflicts() {
+        assertEquals(Set.of(UUID2), this.registry.getConflicts(UUID1));
+        assertEquals(Set.of(UUID1), this.registry.getConflicts(UUID2));
+        assertFalse(this.registry.hasConflict(UUID3));
+        assertEquals(Set.of(UUID1, UUID2), this.registry.getConflicts(LocalDate.of(2021, 10, 1)));
+        assertTrue(this.registry.hasConflicts(YearMonth.of(2021, 10)));
+        assertFalse(this.registry.hasConflicts(YearMonth.of(2021, 11)));
+    }
+
+    @Test
+    public void testAddMoveRemove() {
+        Event overnight = new Event(UUID.randomUUID(), "overnight", LocalDateTime.of(2021, 11, 1, 12, 0),
+                LocalDateTime.of(2021, 11, 3, 0, 0));
+        this.eventManager.addEvent(overnight);
+        assertEquals(Set.of(UUID4), this.registry.getConflicts(overnight.getID()));
+        assertEquals(Set.of(UUID4, overnight.getID()), this.registry.getConflicts(LocalDate.of(2021, 11, 1)));
+        assertEquals(Set.of(UUID4, overnight.getID()), this.registry.getConflicts(LocalDate.of(2021, 11, 2)));
+        assertTrue(this.registry.getConflicts(LocalDate.of(2021, 11, 3)).isEmpty());
+        assertTrue(this.registry.hasConflicts(YearMonth.of(2021, 11)));
+
+        this.eventManager.getDefaultEventInfoGetter().setStart(UUID3, LocalDateTime.of(2021, 10, 1, 4, 30));
+        assertEquals(Set.of(UUID2), this.registry.getConflicts(UUID3));
+        assertEquals(Set.of(UUID1, UUID3), this.registry.getConflicts(UUID2));
+
+        this.eventManager.remove(UUID2);
+        assertFalse(this.registry.hasConflict(UUID1));
+        assertFalse(this.registry.hasConflict(UUID3));
+        assertFalse(this.registry.hasConflicts(LocalDate.of(2021, 10, 1)));
+        assertFalse(this.registry.hasConflicts(YearMonth.of(2021, 10)));
+
+        this.eventManager.remove(overnight.getID());
+        assertFalse(this.registry.hasConflicts(YearMonth.of(2021, 11)));
+    }
+
+    @Test
+    public void testWorkSessionsAndBatch() {
+        WorkSessionManager workSessionManager = new WorkSessionManager(this.eventManager);
+        workSessionManager.addWorkSession(UUID3, LocalDateTime.of(2021, 10, 1, 6, 0),
+                LocalDateTime.of(2021, 10, 1, 8, 0));
+        Event session = workSessionManager.getWorkSessions(UUID3).get(0);
+        assertEquals(Set.of(UUID3), this.registry.getConflicts(session.getID()));
+
+        this.eventManager.beginBatch();
+        this.eventManager.remove(UUID3);
+        this.eventManager.remove(UUID1);
+        this.eventManager.commitBatch();
+        assertFalse(this.registry.hasConflict(session.getID()));
+        assertFalse(this.registry.hasConflict(UUID2));
+        assertFalse(this.registry.hasConflicts(YearMonth.of(2021, 10)));
+    }
+}
@@ -3,9 +3,14 @@ package usecases.events;
 import entities.Event;
 
 import static org.junit.Assert.*;
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.Before;
+import usecases.events.changes.*;
+import usecases.events.worksessions.WorkSessionManager;
 
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -50,7 +55,7 @@ public class EventManagerTest {
 
     @Test
     public void testSplitByDay(){
-        assertEquals(new ArrayList<> (List.of(new Event[] {new Event(UUID6, "6", LocalDateTime.of(2021, 11, 10, 2,
+        assertTrue(Event.contentEquals(new ArrayList<> (List.of(new Event[] {new Event(UUID6, "6", LocalDateTime.of(2021, 11, 10, 2,
                 30), LocalDateTime.of(2021, 11, 10, 23, 59)), new Event(UUID6,
                 "6", LocalDateTime.of(2021, 11, 11, 0,
                 0), LocalDateTime.of(2021, 11, 11, 23, 59)), new Event(UUID6,
@@ -58,7 +63,268 @@ public class EventManagerTest {
                 0), LocalDateTime.of(2021, 11, 12, 23, 59)), new Event(UUID6,
                 "6", LocalDateTime.of(2021, 11, 13, 0,
                 0), LocalDateTime.of(2021, 11, 13, 4, 30))})),
-                this.eventManager.splitByDay(this.eventManager.get(UUID6)));
-        assertEquals(new ArrayList<>(List.of(this.eventManager.get(UUID1))), this.eventManager.splitByDay(this.eventManager.get(UUID1)));
+                this.eventManager.splitByDay(this.eventManager.get(UUID6))));
+        assertTrue(Event.contentEquals(new ArrayList<>(List.of(this.eventManager.get(UUID1))),
+                this.eventManager.splitByDay(this.eventManager.get(UUID1))));
+    }
+
+    @Test
+    public void testSplitPiecesShareIdentity(){
+        List<Event> pieces = this.eventManager.splitByDay(this.eventManager.get(UUID6));
+        assertEquals(4, pieces.size());
+        assertEquals(Set.of(this.eventManager.get(UUID6)), new HashSet<>(pieces));
+        assertEquals(4, this.eventManager.getDaySplitView().getAll().stream()
+                .filter(piece -> piece.getID().equals(UUID6)).count());
+    }
+
+    @Test
+    public void testQuery(){
+        List<Event> overlapping = this.eventManager.query(LocalDateTime.of(2021, 10, 1, 4, 30),
+                LocalDateTime.of(2021, 10, 1, 5, 0));
+        assertEquals(List.of(this.eventManager.get(UUID2), this.eventManager.get(UUID3)), overlapping);
+        assertTrue(this.eventManager.query(LocalDateTime.of(2021, 10, 5, 0, 0),
+                LocalDateTime.of(2021, 11, 1, 0, 0)).isEmpty());
+    }
+
+    @Test
+    public void testQueryAfterChange(){
+        this.eventManager.getDefaultEventInfoGetter().setEnd(UUID1, LocalDateTime.of(2021, 11, 11, 3, 0));
+        this.eventManager.getDefaultEventInfoGetter().setStart(UUID1, LocalDateTime.of(2021, 11, 11, 2, 0));
+        LocalDateTime from = LocalDateTime.of(2021, 11, 11, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2021, 11, 11, 23, 59);
+        assertEquals(List.of(this.eventManager.get(UUID6), this.eventManager.get(UUID1)),
+                this.eventManager.query(from, to));
+        this.eventManager.remove(UUID6);
+        assertEquals(List.of(this.eventManager.get(UUID1)), this.eventManager.query(from, to));
+        assertTrue(this.eventManager.query(LocalDateTime.of(2021, 10, 1, 0, 0),
+                LocalDateTime.of(2021, 10, 1, 3, 0)).isEmpty());
+    }
+
+    @Test
+    public void testQueryWorkSessions(){
+        WorkSessionManager workSessionManager = new WorkSessionManager(this.eventManager);
+        workSessionManager.addWorkSession(UUID4, LocalDateTime.of(2021, 10, 3, 1, 0),
+                LocalDateTime.of(2021, 10, 3, 2, 0));
+        LocalDateTime from = LocalDateTime.of(2021, 10, 3, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2021, 10, 3, 23, 59);
+        assertEquals(workSessionManager.getWorkSessions(UUID4), this.eventManager.query(from, to));
+        workSessionManager.removeWorkSession(UUID4, workSessionManager.getWorkSessions(UUID4).get(0));
+        assertTrue(this.eventManager.query(from, to).isEmpty());
+    }
+
+    @Test
+    public void testGetWorkSessionsAndRecursionEvents(){
+        WorkSessionManager workSessionManager = new WorkSessionManager(this.eventManager);
+        workSessionManager.addWorkSession(UUID4, LocalDateTime.of(2021, 10, 3, 1, 0),
+                LocalDateTime.of(2021, 10, 3, 2, 0));
+        Event session = workSessionManager.getWorkSessions(UUID4).get(0);
+        assertSame(session, this.eventManager.get(session.getID()));
+        workSessionManager.setWorkSessions(UUID4, new ArrayList<>());
+        assertNull(this.eventManager.get(session.getID()));
+
+        Event repeated = new Event(UUID.randomUUID(), "repeated", 2021, 12, 1, 1, 2, 0, 0);
+        UUID recursion = UUID.randomUUID();
+        this.eventManager.getRepeatedEventManager().putRecursionEvents(recursion,
+                new HashMap<>(Map.of(repeated.getStartTime(), List.of(repeated))));
+        assertSame(repeated, this.eventManager.get(repeated.getID()));
+        this.eventManager.getRepeatedEventManager().putRecursionEvents(recursion, new HashMap<>());
+        assertNull(this.eventManager.get(repeated.getID()));
+    }
+
+    @Test
+    public void testDaySplitView(){
+        EventDaySplitView view = this.eventManager.getDaySplitView();
+        List<Event> all = this.eventManager.getAllEventsFlatSplit();
+        assertEquals(9, all.size());
+        assertSame(all, this.eventManager.getAllEventsFlatSplit());
+        assertEquals(1, view.getDay(LocalDate.of(2021, 11, 11)).size());
+
+        long version = view.getVersion();
+        this.eventManager.getDefaultEventInfoGetter().setEnd(UUID6, LocalDateTime.of(2021, 11, 10, 5, 0));
+        assertTrue(view.getVersion() > version);
+        assertTrue(view.getDay(LocalDate.of(2021, 11, 11)).isEmpty());
+        assertEquals(List.of(this.eventManager.get(UUID6)), view.getDay(LocalDate.of(2021, 11, 10)));
+        assertEquals(6, this.eventManager.getAllEventsFlatSplit().size());
+
+        this.eventManager.remove(UUID1);
+        assertEquals(5, this.eventManager.getAllEventsFlatSplit().size());
+        assertEquals(2, view.getDay(LocalDate.of(2021, 10, 1)).size());
+    }
+
+    @Test
+    public void testOrderedNavigation(){
+        List<Event> ordered = this.eventManager.getAllEventsOrdered();
+        assertEquals(6, ordered.size());
+        assertEquals(this.eventManager.get(UUID1), ordered.get(0));
+        assertEquals(this.eventManager.get(UUID6), ordered.get(5));
+        LocalDateTime time = LocalDateTime.of(2021, 10, 1, 4, 30);
+        assertEquals(this.eventManager.get(UUID3), this.eventManager.nextEvent(time));
+        assertEquals(this.eventManager.get(UUID2), this.eventManager.previousEvent(time));
+        assertEquals(List.of(this.eventManager.get(UUID3)), this.eventManager.nextEvents(time, 1));
+        assertEquals(4, this.eventManager.nextEvents(time, 10).size());
+        assertNull(this.eventManager.nextEvent(LocalDateTime.of(2022, 1, 1, 0, 0)));
+        assertEquals(List.of(UUID1, UUID2, UUID3), this.eventManager.timeOrderID(List.of(UUID3, UUID1, UUID2)));
+    }
+
+    @Test
+    public void testTimeline(){
+        EventTimeline timeline = this.eventManager.getTimeline();
+        assertEquals(6, timeline.size());
+        assertSame(timeline, this.eventManager.getTimeline());
+        for (int i = 1; i < timeline.size(); i++) {
+            assertTrue(timeline.getStart(i - 1) <= timeline.getStart(i));
+        }
+        assertEquals(this.eventManager.get(UUID1), timeline.getEvent(0));
+        assertEquals(Event.toEpochMinute(LocalDateTime.of(2021, 10, 1, 3, 0)), timeline.getEnd(0));
+        assertEquals(2, timeline.firstStartingFrom(Event.toEpochMinute(LocalDateTime.of(2021, 10, 1, 4, 30))));
+
+        this.eventManager.remove(UUID1);
+        assertEquals(5, this.eventManager.getTimeline().size());
+    }
+
+    @Test
+    public void testBatch(){
+        List<String> updates = new ArrayList<>();
+        this.eventManager.addObserver((addRemoveChange, changed, eventManager) ->
+                updates.add(addRemoveChange + " " + changed.getName()));
+        Event added = new Event(UUID.randomUUID(), "added", 2021, 12, 1, 1, 2, 0, 0);
+        Event temporary = new Event(UUID.randomUUID(), "temporary", 2021, 12, 1, 3, 4, 0, 0);
+        LocalDateTime from = LocalDateTime.of(2021, 12, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2021, 12, 1, 23, 59);
+
+        this.eventManager.beginBatch();
+        this.eventManager.addEvent(added);
+        this.eventManager.addEvent(temporary);
+        this.eventManager.getDefaultEventInfoGetter().setEnd(added.getID(), LocalDateTime.of(2021, 12, 1, 5, 0));
+        this.eventManager.remove(temporary.getID());
+        this.eventManager.getDefaultEventInfoGetter().setEnd(UUID1, LocalDateTime.of(2021, 12, 1, 6, 0));
+        this.eventManager.getDefaultEventInfoGetter().setStart(UUID1, LocalDateTime.of(2021, 12, 1, 5, 0));
+        assertTrue(updates.isEmpty());
+        assertTrue(this.eventManager.query(from, to).isEmpty());
+        this.eventManager.commitBatch();
+
+        assertEquals(List.of("add added", "change 1"), updates);
+        assertEquals(List.of(added, this.eventManager.get(UUID1)), this.eventManager.query(from, to));
+        assertFalse(this.eventManager.inBatch());
+    }
+
+    @Test
+    public void testChangeBus() {
+        List<EventChange> sync = new ArrayList<>();
+        this.eventManager.getChangeBus().subscribe((changes, eventManager) -> sync.addAll(changes));
+        LocalDateTime oldEnd = this.eventManager.get(UUID1).getEndTime();
+
+        this.eventManager.getDefaultEventInfoGetter().setEnd(UUID1, LocalDateTime.of(2021, 10, 1, 3, 30));
+        this.eventManager.getDefaultEventInfoGetter().setEnd(UUID1, LocalDateTime.of(2021, 10, 1, 4, 0));
+        this.eventManager.remove(UUID2);
+
+        assertEquals(3, sync.size());
+        EventTimeChanged first = (EventTimeChanged) sync.get(0);
+        assertEquals(oldEnd, first.getBefore().getEnd());
+        assertEquals(LocalDateTime.of(2021, 10, 1, 3, 30), first.getAfter().getEnd());
+        assertTrue(sync.get(2) instanceof EventRemoved);
+        assertEquals(UUID2, sync.get(2).getEventID());
+    }
+
+    @Test
+    public void testCoalesce() {
+        Event added = new Event(UUID.randomUUID(), "added", LocalDateTime.of(2021, 12, 1, 4, 0),
+                LocalDateTime.of(2021, 12, 1, 5, 0));
+        Event event = this.eventManager.get(UUID1);
+        EventInterval before = EventInterval.of(event);
+        List<EventChange> changes = EventChangeBus.coalesce(List.of(new EventAdded(added),
+                new EventTimeChanged(event, before, before), new EventRemoved(added), new EventRemoved(event)));
+        assertEquals(1, changes.size());
+        assertTrue(changes.get(0) instanceof EventRemoved);
+        assertEquals(before, changes.get(0).getBefore());
+    }
+
+    @Test
+    public void testCoalesceRecursion() {
+        UUID recursion = UUID.randomUUID();
+        Event event = this.eventManager.get(UUID1);
+        List<Event> first = List.of(event);
+        List<Event> last = List.of(this.eventManager.get(UUID2));
+        List<EventChange> changes = EventChangeBus.coalesce(List.of(new RecursionChanged(recursion, first, List.of()),
+                new EventAdded(event), new RecursionChanged(recursion, List.of(), last)));
+        assertEquals(2, changes.size());
+        assertEquals(UUID1, changes.get(0).getEventID());
+        RecursionChanged merged = (RecursionChanged) changes.get(1);
+        assertNull(merged.getEvent());
+        assertEquals(recursion, merged.getEventID());
+        assertEquals(first, merged.getBeforeInstances());
+        assertEquals(last, merged.getAfterInstances());
+    }
+
+    @Test
+    public void testCursor() {
+        LocalDateTime from = LocalDateTime.of(2021, 10, 1, 4, 30);
+        LocalDateTime to = LocalDateTime.of(2021, 11, 11, 0, 0);
+        EventCursor cursor = this.eventManager.getCursor();
+        cursor.reset(from, to);
+        List<UUID> visited = new ArrayList<>();
+        while (cursor.next()) {
+            visited.add(cursor.getID());
+            assertEquals(cursor.getEvent().getName(), cursor.getName());
+            assertEquals(cursor.getEvent().getEndMinute(), cursor.getEndMinute());
+        }
+        assertEquals(this.eventManager.getOrderedIDs(from, to), visited);
+        assertFalse(cursor.next());
+
+        cursor.reset();
+        int count = 0;
+        while (cursor.next()) {
+            count++;
+        }
+        assertEquals(6, count);
+    }
+
+    @Test
+    public void testCursorAllocation() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        long few = this.allocatedVisiting(1000);
+        long many = this.allocatedVisiting(100000);
+        assertTrue("allocated " + few + " bytes visiting 1000 events and " + many + " visiting 100000",
+                many < few + 64 * 1024);
+    }
+
+    /**
+     * bytes allocated by one warmed up month render over count events
+     */
+    private long allocatedVisiting(int count) {
+        List<Event> month = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = LocalDateTime.of(2022, 1, 1 + i % 31, i % 23, 0);
+            month.add(new Event(UUID.randomUUID(), "event " + i, start, start.plusMinutes(30)));
+        }
+        EventCursor cursor = new EventManager(month).getCursor();
+        LocalDateTime from = LocalDateTime.of(2022, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2022, 1, 31, 23, 59);
+        long checksum = 0;
+        for (int i = 0; i < 20; i++) {
+            checksum += this.renderMonth(cursor, from, to);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        checksum += this.renderMonth(cursor, from, to);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(checksum != 0);
+        return allocated;
+    }
+
+    /**
+     * visits every event in the window the way a month view would, reading each field the cursor exposes
+     */
+    private long renderMonth(EventCursor cursor, LocalDateTime from, LocalDateTime to) {
+        long checksum = 0;
+        cursor.reset(from, to);
+        while (cursor.next()) {
+            checksum += cursor.getStartMinute() + cursor.getEndMinute() + cursor.getSessionCount()
+                    + cursor.getName().length() + cursor.getID().getLeastSignificantBits()
+                    + cursor.getStartTime().getDayOfMonth() + cursor.getEndTime().getHour();
+        }
+        return checksum;
     }
 }
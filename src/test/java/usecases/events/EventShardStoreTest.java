@@ -0,0 +1,121 @@
+package usecases.events;
+
+import entities.Event;
+import entities.recursions.RecursiveEvent;
+import interfaces.EventShardSource;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class EventShardStoreTest {
+    private final UUID USER1 = UUID.randomUUID();
+    private final UUID USER2 = UUID.randomUUID();
+    private final UUID EVENT1 = UUID.randomUUID();
+    private final UUID EVENT2 = UUID.randomUUID();
+
+    private Map<UUID, List<Event>> saved;
+    private List<UUID> reads;
+    private List<Set<UUID>> bulkReads;
+    private EventShardStore store;
+
+    @Before
+    public void start() {
+        this.saved = new HashMap<>();
+        this.saved.put(USER1, List.of(new Event(EVENT1, "1", 2021, 10, 1, 2, 3, 0, 0)));
+        this.saved.put(USER2, List.of(new Event(EVENT2, "2", 2021, 10, 1, 4, 5, 0, 0)));
+        this.reads = new ArrayList<>();
+        this.bulkReads = new ArrayList<>();
+        this.store = new EventShardStore(new EventShardSource() {
+            @Override
+            public List<Event> readEvents(UUID userID) {
+                reads.add(userID);
+                return new ArrayList<>(saved.getOrDefault(userID, new ArrayList<>()));
+            }
+
+            @Override
+            public Map<UUID, List<Event>> readEvents(Collection<UUID> userIDs) {
+                bulkReads.add(new HashSet<>(userIDs));
+                Map<UUID, List<Event>> events = new HashMap<>();
+                for (UUID userID : userIDs) {
+                    events.put(userID, new ArrayList<>(saved.getOrDefault(userID, new ArrayList<>())));
+                }
+                return events;
+            }
+
+            @Override
+            public Map<UUID, RecursiveEvent> readRecursiveEvents(UUID userID) {
+                return new HashMap<>();
+            }
+        });
+    }
+
+    @Test
+    public void testLazyLoading() {
+        EventManager eventManager = this.store.open(USER1);
+        assertEquals(List.of(USER1), this.reads);
+        assertTrue(eventManager.containsID(EVENT1));
+        assertFalse(eventManager.containsID(EVENT2));
+        assertFalse(this.store.isLoaded(USER2));
+
+        assertTrue(this.store.get(USER2).containsID(EVENT2));
+        assertSame(eventManager, this.store.get(USER1));
+        assertEquals(List.of(USER1, USER2), this.reads);
+
+        this.store.release(USER2);
+        this.store.release(USER1);
+        assertFalse(this.store.isLoaded(USER2));
+        assertTrue(this.store.isLoaded(USER1));
+    }
+
+    @Test
+    public void testGetAll() {
+        EventManager eventManager = this.store.open(USER1);
+        UUID USER3 = UUID.randomUUID();
+        Map<UUID, EventManager> shards = this.store.getAll(List.of(USER1, USER2, USER3));
+        assertEquals(List.of(USER1, USER2, USER3), new ArrayList<>(shards.keySet()));
+        assertEquals(List.of(USER1), this.reads);
+        assertEquals(List.of(Set.of(USER2, USER3)), this.bulkReads);
+        assertSame(eventManager, shards.get(USER1));
+        assertTrue(shards.get(USER2).containsID(EVENT2));
+        assertTrue(shards.get(USER3).getAllEventsOrdered().isEmpty());
+        assertSame(shards.get(USER2), this.store.get(USER2));
+    }
+
+    @Test
+    public void testSaveDirtyShards() {
+        EventManager eventManager = this.store.open(USER1);
+        this.store.get(USER2);
+        assertTrue(this.store.getDirtyShards().isEmpty());
+        Map<UUID, List<Event>> events = new HashMap<>();
+        Map<UUID, Map<UUID, RecursiveEvent>> recursiveEvents = new HashMap<>();
+        assertFalse(this.store.saveDirtyShards(events, recursiveEvents));
+
+        eventManager.addEvent(new Event(UUID.randomUUID(), "added", LocalDateTime.of(2021, 10, 2, 1, 0)));
+        assertEquals(Set.of(USER1), this.store.getDirtyShards());
+        assertTrue(this.store.saveDirtyShards(events, recursiveEvents));
+        assertEquals(Set.of(USER1), events.keySet());
+        assertEquals(2, events.get(USER1).size());
+        assertTrue(this.store.getDirtyShards().isEmpty());
+
+        eventManager.getDefaultEventInfoGetter().setName(EVENT1, "renamed");
+        assertTrue(this.store.isDirty(USER1));
+    }
+
+    @Test
+    public void testDirtyShardKeptUntilSaved() {
+        this.store.open(USER1);
+        this.store.get(USER2).remove(EVENT2);
+        this.store.release(USER2);
+        assertTrue(this.store.isLoaded(USER2));
+
+        Map<UUID, List<Event>> events = new HashMap<>(this.saved);
+        this.store.saveDirtyShards(events, new HashMap<>());
+        assertTrue(events.get(USER2).isEmpty());
+        assertEquals(this.saved.get(USER1), events.get(USER1));
+        assertFalse(this.store.isLoaded(USER2));
+    }
+}
@@ -0,0 +1,74 @@
+package usecases.events;
+
+import entities.Event;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class FreeBusyIndexTest {
+    private EventManager eventManager;
+    private FreeBusyIndex freeBusyIndex;
+
+    private final UUID UUID1 = UUID.randomUUID();
+    private final UUID UUID2 = UUID.randomUUID();
+
+    @Before
+    public void start() {
+        this.eventManager = new EventManager(new ArrayList<>(List.of(
+                new Event(UUID1, "1", 2021, 10, 1, 2, 4, 0, 0),
+                new Event(UUID2, "2", LocalDateTime.of(2021, 10, 1, 23, 10), LocalDateTime.of(2021, 10, 2, 0, 50)),
+                new Event(UUID.randomUUID(), "deadline", LocalDateTime.of(2021, 10, 1, 12, 0)))));
+        this.freeBusyIndex = this.eventManager.getFreeBusyIndex();
+    }
+
+    @Test
+    public void testDay() {
+        long[] day = this.freeBusyIndex.getDay(LocalDate.of(2021, 10, 1));
+        assertEquals(0xFFL << 8, day[0]);
+        assertEquals(0xFL << 28, day[1]);
+        day = this.freeBusyIndex.getDay(LocalDate.of(2021, 10, 2));
+        assertEquals(0xFL, day[0]);
+        assertEquals(0, day[1]);
+    }
+
+    @Test
+    public void testIsFree() {
+        assertTrue(this.freeBusyIndex.isFree(LocalDateTime.of(2021, 10, 1, 4, 0), LocalDateTime.of(2021, 10, 1, 23, 0)));
+        assertFalse(this.freeBusyIndex.isFree(LocalDateTime.of(2021, 10, 1, 3, 45), LocalDateTime.of(2021, 10, 1, 5, 0)));
+        assertFalse(this.freeBusyIndex.isFree(LocalDateTime.of(2021, 10, 1, 23, 0), LocalDateTime.of(2021, 10, 1, 23, 5)));
+        assertFalse(this.freeBusyIndex.isFree(LocalDateTime.of(2021, 10, 2, 0, 30), LocalDateTime.of(2021, 10, 2, 2, 0)));
+        assertTrue(this.freeBusyIndex.isFree(LocalDateTime.of(2021, 10, 2, 1, 0), LocalDateTime.of(2021, 10, 5, 0, 0)));
+    }
+
+    @Test
+    public void testFreeSlots() {
+        Map<LocalDateTime, Long> expected = new LinkedHashMap<>();
+        expected.put(LocalDateTime.of(2021, 10, 1, 0, 0), 120L);
+        expected.put(LocalDateTime.of(2021, 10, 1, 4, 0), 19 * 60L);
+        expected.put(LocalDateTime.of(2021, 10, 2, 1, 0), 47 * 60L);
+        assertEquals(expected, this.freeBusyIndex.freeSlots(LocalDateTime.of(2021, 10, 1, 0, 0),
+                LocalDateTime.of(2021, 10, 4, 0, 10)));
+        assertEquals(Map.of(LocalDateTime.of(2021, 10, 1, 4, 15), 30L), this.freeBusyIndex.freeSlots(
+                LocalDateTime.of(2021, 10, 1, 4, 5), LocalDateTime.of(2021, 10, 1, 4, 59)));
+    }
+
+    @Test
+    public void testUpdates() {
+        assertTrue(this.freeBusyIndex.isFree(LocalDateTime.of(2021, 10, 1, 10, 0), LocalDateTime.of(2021, 10, 1, 11, 0)));
+        this.eventManager.getDefaultEventInfoGetter().setStart(UUID1, LocalDateTime.of(2021, 10, 1, 10, 0));
+        this.eventManager.getDefaultEventInfoGetter().setEnd(UUID1, LocalDateTime.of(2021, 10, 1, 11, 0));
+        assertFalse(this.freeBusyIndex.isFree(LocalDateTime.of(2021, 10, 1, 10, 0), LocalDateTime.of(2021, 10, 1, 11, 0)));
+        assertTrue(this.freeBusyIndex.isFree(LocalDateTime.of(2021, 10, 1, 2, 0), LocalDateTime.of(2021, 10, 1, 4, 0)));
+
+        this.eventManager.remove(UUID2);
+        assertTrue(this.freeBusyIndex.isFree(LocalDateTime.of(2021, 10, 1, 23, 0), LocalDateTime.of(2021, 10, 2, 1, 0)));
+        this.eventManager.addEvent(new Event(UUID.randomUUID(), "new", LocalDateTime.of(2021, 10, 2, 0, 0),
+                LocalDateTime.of(2021, 10, 2, 0, 15)));
+        assertEquals(1L, this.freeBusyIndex.getDay(LocalDate.of(2021, 10, 2))[0]);
+    }
+}
@@ -0,0 +1,125 @@
+package usecases.events;
+
+import entities.Event;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.Before;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class OverlapDepthTreeTest {
+    private EventManager eventManager;
+    private OverlapDepthTree tree;
+
+    private final UUID UUID1 = UUID.randomUUID();
+    private final UUID UUID2 = UUID.randomUUID();
+    private final UUID UUID3 = UUID.randomUUID();
+    private final UUID UUID4 = UUID.randomUUID();
+
+    @Before
+    public void start() {
+        this.eventManager = new EventManager(new ArrayList<>(List.of(
+                new Event(UUID1, "1", 2021, 10, 1, 10, 14, 0, 0),
+                new Event(UUID2, "2", 2021, 10, 1, 11, 13, 0, 0),
+                new Event(UUID3, "3", 2021, 10, 1, 12, 16, 0, 0),
+                new Event(UUID4, "4", LocalDateTime.of(2021, 10, 1, 12, 30)))));
+        this.tree = this.eventManager.getOverlapDepthTree();
+    }
+
+    @Test
+    public void testMaxDepth() {
+        assertEquals(3, this.tree.maxDepth(LocalDateTime.of(2021, 10, 1, 0, 0), LocalDateTime.of(2021, 10, 2, 0, 0)));
+        assertEquals(LocalDateTime.of(2021, 10, 1, 12, 0),
+                this.tree.findPeak(LocalDateTime.of(2021, 10, 1, 0, 0), LocalDateTime.of(2021, 10, 2, 0, 0)));
+        // 1 and 3 only, as 2 ends at 13:00
+        assertEquals(2, this.tree.maxDepth(LocalDateTime.of(2021, 10, 1, 13, 0), LocalDateTime.of(2021, 10, 1, 15, 0)));
+        assertEquals(LocalDateTime.of(2021, 10, 1, 13, 30),
+                this.tree.findPeak(LocalDateTime.of(2021, 10, 1, 13, 30), LocalDateTime.of(2021, 10, 1, 15, 0)));
+        assertEquals(1, this.tree.maxDepth(LocalDateTime.of(2021, 10, 1, 14, 0), LocalDateTime.of(2021, 10, 3, 0, 0)));
+        assertEquals(0, this.tree.maxDepth(LocalDateTime.of(2021, 10, 1, 16, 0), LocalDateTime.of(2021, 10, 3, 0, 0)));
+        assertNull(this.tree.findPeak(LocalDateTime.of(2021, 9, 1, 0, 0), LocalDateTime.of(2021, 10, 1, 10, 0)));
+    }
+
+    @Test
+    public void testUpdate() {
+        assertEquals(3, this.tree.maxDepth(LocalDateTime.of(2021, 10, 1, 0, 0), LocalDateTime.of(2021, 10, 2, 0, 0)));
+        // moved to times already splitting the periods
+        this.eventManager.getDefaultEventInfoGetter().setEnd(UUID2, LocalDateTime.of(2021, 10, 1, 16, 0));
+        this.eventManager.getDefaultEventInfoGetter().setStart(UUID2, LocalDateTime.of(2021, 10, 1, 14, 0));
+        assertEquals(2, this.tree.maxDepth(LocalDateTime.of(2021, 10, 1, 0, 0), LocalDateTime.of(2021, 10, 2, 0, 0)));
+        assertEquals(LocalDateTime.of(2021, 10, 1, 12, 0),
+                this.tree.findPeak(LocalDateTime.of(2021, 10, 1, 0, 0), LocalDateTime.of(2021, 10, 2, 0, 0)));
+        // new times
+        this.eventManager.addEvent(new Event(UUID.randomUUID(), "5", 2021, 10, 1, 15, 17, 0, 0));
+        assertEquals(3, this.tree.maxDepth(LocalDateTime.of(2021, 10, 1, 0, 0), LocalDateTime.of(2021, 10, 2, 0, 0)));
+        assertEquals(LocalDateTime.of(2021, 10, 1, 15, 0),
+                this.tree.findPeak(LocalDateTime.of(2021, 10, 1, 0, 0), LocalDateTime.of(2021, 10, 2, 0, 0)));
+        this.eventManager.remove(UUID3);
+        assertEquals(2, this.tree.maxDepth(LocalDateTime.of(2021, 10, 1, 0, 0), LocalDateTime.of(2021, 10, 2, 0, 0)));
+    }
+
+    @Test
+    public void testUpdateWithoutRebuild() {
+        int[] rebuilds = new int[1];
+        EventManager counting = new EventManager(new ArrayList<>(List.of(
+                new Event(UUID1, "1", 2021, 10, 1, 10, 14, 0, 0)))) {
+            @Override
+            public List<Event> getAllEventsOrdered() {
+                rebuilds[0]++;
+                return super.getAllEventsOrdered();
+            }
+        };
+        OverlapDepthTree tree = counting.getOverlapDepthTree();
+        LocalDateTime from = LocalDateTime.of(2021, 10, 1, 0, 0);
+        assertEquals(1, tree.maxDepth(from, from.plusDays(1)));
+        int built = rebuilds[0];
+        // new times, and times far from the others
+        counting.addEvent(new Event(UUID2, "2", LocalDateTime.of(2021, 10, 1, 9, 7),
+                LocalDateTime.of(2021, 10, 1, 11, 3)));
+        counting.addEvent(new Event(UUID3, "3", LocalDateTime.of(3021, 1, 1, 0, 0),
+                LocalDateTime.of(3021, 1, 2, 0, 0)));
+        assertEquals(2, tree.maxDepth(from, from.plusDays(1)));
+        assertEquals(LocalDateTime.of(2021, 10, 1, 10, 0), tree.findPeak(from, from.plusDays(1)));
+        counting.getDefaultEventInfoGetter().setStart(UUID2, LocalDateTime.of(2021, 10, 1, 10, 30));
+        assertEquals(LocalDateTime.of(2021, 10, 1, 10, 30), tree.findPeak(from, from.plusDays(1)));
+        counting.remove(UUID1);
+        assertEquals(1, tree.maxDepth(from, from.plusDays(1)));
+        assertEquals(1, tree.maxDepth(LocalDateTime.of(3020, 1, 1, 0, 0), LocalDateTime.of(3022, 1, 1, 0, 0)));
+        assertEquals(built, rebuilds[0]);
+    }
+
+    @Test
+    public void testMatchesCount() {
+        Random random = new Random(21);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            int day = 1 + random.nextInt(3);
+            int startHour = random.nextInt(20);
+            events.add(new Event(UUID.randomUUID(), "e" + i, 2021, 10, day, startHour,
+                    startHour + 1 + random.nextInt(4), 0, 0));
+        }
+        EventManager manager = new EventManager(new ArrayList<>(events));
+        for (int trial = 0; trial < 50; trial++) {
+            LocalDateTime from = LocalDateTime.of(2021, 10, 1, 0, 0).plusHours(random.nextInt(72));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(24));
+            int expected = 0;
+            LocalDateTime peak = null;
+            for (LocalDateTime time = from; time.isBefore(to); time = time.plusHours(1)) {
+                int depth = 0;
+                for (Event event : events) {
+                    if (!event.getStartTime().isAfter(time) && event.getEndTime().isAfter(time)) {
+                        depth++;
+                    }
+                }
+                if (depth > expected) {
+                    expected = depth;
+                    peak = time;
+                }
+            }
+            assertEquals(expected, manager.getOverlapDepthTree().maxDepth(from, to));
+            assertEquals(peak, manager.getOverlapDepthTree().findPeak(from, to));
+        }
+    }
+}